@@ -0,0 +1,26 @@
+package serilogj.benchmarks;
+
+/**
+ * Runs every check class in this module with its default settings, and
+ * exits with status 1 if any check failed. Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.AllChecks
+ * </pre>
+ *
+ * The message template parser is covered separately, by
+ * <see cref="MessageTemplateParserDifferential"/>.
+ */
+public class AllChecks {
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		DeferredPropertyChecks.run(checks);
+		LogEventPropertyMapChecks.run(checks);
+		FrozenEventChecks.run(checks);
+		LogContextSnapshotChecks.run(checks);
+		BackgroundSinkChecks.run(checks);
+		ShortestDecimalChecks.run(checks);
+		JsonEscapeChecks.run(checks);
+		checks.exit();
+	}
+}
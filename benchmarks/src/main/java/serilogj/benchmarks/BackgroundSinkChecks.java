@@ -0,0 +1,183 @@
+package serilogj.benchmarks;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import serilogj.core.ILogEventSink;
+import serilogj.core.sinks.BackgroundSink;
+import serilogj.core.sinks.QueueFullMode;
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventLevel;
+import serilogj.events.LogEventProperty;
+import serilogj.events.ScalarValue;
+import serilogj.parsing.MessageTemplateParser;
+
+/**
+ * Checks which events a <see cref="BackgroundSink"/> keeps in each
+ * <see cref="QueueFullMode"/> while its wrapped sink is stalled, that
+ * <see cref="BackgroundSink.close"/> emits what is queued before closing the
+ * wrapped sink, and that events arriving after that are counted as dropped.
+ * Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.BackgroundSinkChecks
+ * </pre>
+ */
+public class BackgroundSinkChecks {
+	private static final int Capacity = 2;
+
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		// Event 0 stalls the worker, 1 and 2 fill the queue, 3 to 5 overflow it
+		StalledSink sink = new StalledSink();
+		BackgroundSink background = stall(sink, QueueFullMode.DropNewest);
+		for (int i = 1; i <= 5; i++) {
+			background.emit(event(i));
+		}
+		checks.equal("DropNewest queue depth", Capacity, background.getQueueDepth());
+		checks.equal("DropNewest dropped", 3L, background.getDroppedCount());
+		sink.release.countDown();
+		background.close();
+		checks.equal("DropNewest emitted", "[0, 1, 2]", sink.emitted.toString());
+		checks.equal("DropNewest emitted count", 3L, background.getEmittedCount());
+		checks.isTrue("wrapped sink closed", sink.closed);
+
+		sink = new StalledSink();
+		background = stall(sink, QueueFullMode.DropOldest);
+		for (int i = 1; i <= 5; i++) {
+			background.emit(event(i));
+		}
+		checks.equal("DropOldest dropped", 3L, background.getDroppedCount());
+		sink.release.countDown();
+		background.close();
+		checks.equal("DropOldest emitted", "[0, 4, 5]", sink.emitted.toString());
+
+		// A blocked caller waits until the worker makes room, and loses nothing
+		sink = new StalledSink();
+		BackgroundSink blocking = stall(sink, QueueFullMode.Block);
+		Thread caller = new Thread(() -> {
+			for (int i = 1; i <= 5; i++) {
+				blocking.emit(event(i));
+			}
+		});
+		caller.start();
+		checks.isTrue("Block caller waits", waitForState(caller, Thread.State.WAITING));
+		checks.equal("Block queue depth while waiting", Capacity, blocking.getQueueDepth());
+		sink.release.countDown();
+		caller.join();
+		blocking.close();
+		checks.equal("Block emitted", "[0, 1, 2, 3, 4, 5]", sink.emitted.toString());
+		checks.equal("Block dropped", 0L, blocking.getDroppedCount());
+
+		// Interrupting a blocked caller drops its event and keeps the interrupt
+		sink = new StalledSink();
+		BackgroundSink interrupted = stall(sink, QueueFullMode.Block);
+		for (int i = 1; i <= Capacity; i++) {
+			interrupted.emit(event(i));
+		}
+		boolean[] stillInterrupted = new boolean[1];
+		Thread interruptedCaller = new Thread(() -> {
+			interrupted.emit(event(3));
+			stillInterrupted[0] = Thread.currentThread().isInterrupted();
+		});
+		interruptedCaller.start();
+		waitForState(interruptedCaller, Thread.State.WAITING);
+		interruptedCaller.interrupt();
+		interruptedCaller.join();
+		checks.isTrue("interrupt flag kept", stillInterrupted[0]);
+		checks.equal("interrupted caller dropped", 1L, interrupted.getDroppedCount());
+		sink.release.countDown();
+		interrupted.close();
+		checks.equal("emitted around the interrupted caller", "[0, 1, 2]", sink.emitted.toString());
+
+		// Close drains a full queue, then refuses further events
+		sink = new StalledSink();
+		BackgroundSink draining = stall(sink, QueueFullMode.DropNewest);
+		draining.emit(event(1));
+		draining.emit(event(2));
+		Thread closer = new Thread(() -> {
+			try {
+				draining.close();
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		closer.start();
+		checks.isTrue("close waits for the worker", waitForState(closer, Thread.State.WAITING));
+		checks.isTrue("wrapped sink open while draining", !sink.closed);
+		sink.release.countDown();
+		closer.join();
+		checks.equal("emitted by close", "[0, 1, 2]", sink.emitted.toString());
+		draining.emit(event(3));
+		checks.equal("dropped after close", 1L, draining.getDroppedCount());
+		checks.equal("emitted after close", "[0, 1, 2]", sink.emitted.toString());
+		checks.isTrue("wrapped sink closed after draining", sink.closed);
+
+		checks.fails("zero capacity", IllegalArgumentException.class,
+				() -> new BackgroundSink(new StalledSink(), 0, QueueFullMode.Block));
+		checks.fails("no mode", IllegalArgumentException.class,
+				() -> new BackgroundSink(new StalledSink(), 1, null));
+	}
+
+	// Returns a sink whose worker is stuck emitting event 0 to the given sink
+	private static BackgroundSink stall(StalledSink sink, QueueFullMode mode) throws InterruptedException {
+		BackgroundSink background = new BackgroundSink(sink, Capacity, mode);
+		background.emit(event(0));
+		if (!sink.entered.await(10, TimeUnit.SECONDS)) {
+			throw new IllegalStateException("The worker didn't start emitting");
+		}
+		return background;
+	}
+
+	private static boolean waitForState(Thread thread, Thread.State state) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (thread.getState() != state) {
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	private static LogEvent event(int number) {
+		ArrayList<LogEventProperty> properties = new ArrayList<LogEventProperty>();
+		properties.add(new LogEventProperty("N", new ScalarValue(number)));
+		return new LogEvent(new Date(), LogEventLevel.Information, null,
+				new MessageTemplateParser().parse("{N}"), properties);
+	}
+
+	// Holds the worker on the first event until released
+	private static final class StalledSink implements ILogEventSink, Closeable {
+		private final CountDownLatch entered = new CountDownLatch(1);
+		private final CountDownLatch release = new CountDownLatch(1);
+		private final List<String> emitted = Collections.synchronizedList(new ArrayList<String>());
+		private volatile boolean closed;
+
+		@Override
+		public void emit(LogEvent logEvent) {
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			emitted.add(logEvent.renderMessage(null));
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Collects the outcome of the runnable checks in this module, which cover
+ * behavior that has no other tests. Each check class has a <code>run</code>
+ * method taking an instance of this class, and a <code>main</code> method
+ * that runs it alone.
+ */
+final class Checks {
+	@FunctionalInterface
+	interface Action {
+		void run() throws Exception;
+	}
+
+	private int passed;
+	private final List<String> failures = new ArrayList<String>();
+
+	void equal(String description, Object expected, Object actual) {
+		if (Objects.equals(expected, actual)) {
+			passed++;
+		} else {
+			failures.add(description + ": expected " + expected + ", got " + actual);
+		}
+	}
+
+	void isTrue(String description, boolean condition) {
+		if (condition) {
+			passed++;
+		} else {
+			failures.add(description);
+		}
+	}
+
+	void fails(String description, Class<? extends Throwable> expected, Action action) {
+		try {
+			action.run();
+			failures.add(description + ": expected " + expected.getSimpleName() + ", nothing was thrown");
+		} catch (Throwable ex) {
+			if (expected.isInstance(ex)) {
+				passed++;
+			} else {
+				failures.add(description + ": expected " + expected.getSimpleName() + ", got " + ex);
+			}
+		}
+	}
+
+	/**
+	 * Print the number of checks that passed and the first failures, then exit
+	 * with status 1 if any failed.
+	 */
+	void exit() {
+		System.out.printf("%,d checks passed, %,d failed%n", passed, failures.size());
+		for (int i = 0; i < Math.min(failures.size(), 20); i++) {
+			System.out.println(failures.get(i));
+		}
+		System.exit(failures.isEmpty() ? 0 : 1);
+	}
+}
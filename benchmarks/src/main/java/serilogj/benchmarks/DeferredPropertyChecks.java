@@ -0,0 +1,97 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import serilogj.LoggerConfiguration;
+import serilogj.core.ILogEventEnricher;
+import serilogj.core.Logger;
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventProperty;
+import serilogj.events.ScalarValue;
+
+/**
+ * Checks that <see cref="Supplier"/> arguments are converted when the
+ * properties of the event are first read, once, in the position of their
+ * template property, and not at all for disabled levels. Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.DeferredPropertyChecks
+ * </pre>
+ */
+public class DeferredPropertyChecks {
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		List<LogEvent> events = new ArrayList<LogEvent>();
+		AtomicInteger calls = new AtomicInteger();
+		Supplier<String> supplier = () -> {
+			calls.incrementAndGet();
+			return "supplied";
+		};
+		ILogEventEnricher enricher = (logEvent, propertyFactory) -> logEvent
+				.addPropertyIfAbsent(new LogEventProperty("A", new ScalarValue("enriched")));
+
+		Logger logger = new LoggerConfiguration().with(enricher).writeTo(events::add).createLogger();
+		logger.information("Deferred {A} then {B}", supplier, "plain");
+		logger.debug("Disabled {A}", supplier);
+		LogEvent event = events.get(0);
+		checks.equal("calls before the properties are read", 0, calls.get());
+		checks.equal("events written", 1, events.size());
+
+		checks.equal("property order", "[A, B]", event.getProperties().keySet().toString());
+		checks.equal("deferred value, kept over the enricher's", new ScalarValue("supplied"),
+				event.getProperties().get("A"));
+		checks.equal("message", "Deferred \"supplied\" then \"plain\"", event.renderMessage(null));
+		checks.equal("calls after reading twice", 1, calls.get());
+
+		// A frozen event is completed in place on first read
+		events.clear();
+		calls.set(0);
+		logger = new LoggerConfiguration().setFreezeEvents(true).writeTo(events::add).createLogger();
+		logger.information("Frozen {A} {B}", supplier, 2);
+		event = events.get(0);
+		checks.isTrue("frozen", event.isFrozen());
+		checks.equal("frozen property order", "[A, B]", event.getProperties().keySet().toString());
+		checks.equal("frozen value", new ScalarValue("supplied"), event.getProperties().get("A"));
+		LogEvent copy = event.mutableCopy();
+		copy.addOrUpdateProperty(new LogEventProperty("C", new ScalarValue(3)));
+		checks.equal("copy property order", "[A, B, C]", copy.getProperties().keySet().toString());
+
+		// Threads racing to read the properties convert the supplier once
+		events.clear();
+		calls.set(0);
+		logger.information("Raced {A}", supplier);
+		LogEvent raced = events.get(0);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> readers = new ArrayList<Thread>();
+		AtomicInteger wrongValues = new AtomicInteger();
+		for (int i = 0; i < 8; i++) {
+			Thread reader = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				if (!new ScalarValue("supplied").equals(raced.getProperties().get("A"))) {
+					wrongValues.incrementAndGet();
+				}
+			});
+			reader.start();
+			readers.add(reader);
+		}
+		start.countDown();
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		checks.equal("calls from racing readers", 1, calls.get());
+		checks.equal("wrong values seen by racing readers", 0, wrongValues.get());
+	}
+}
@@ -0,0 +1,24 @@
+package serilogj.benchmarks;
+
+import serilogj.LoggerConfiguration;
+import serilogj.core.Logger;
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventLevel;
+
+final class Events {
+	private Events() {
+	}
+
+	/**
+	 * An event as the pipeline would produce it, with a few scalar properties
+	 * and a destructured object.
+	 */
+	static LogEvent typical() {
+		LogEvent[] captured = new LogEvent[1];
+		Logger logger = new LoggerConfiguration().setMinimumLevel(LogEventLevel.Verbose)
+				.writeTo(e -> captured[0] = e).createLogger();
+		logger.information("Processed {@Order} for {CustomerId} in {Elapsed:000} ms",
+				new PropertyValueConverterBenchmark.Order(), "customers/42", 12.5);
+		return captured[0];
+	}
+}
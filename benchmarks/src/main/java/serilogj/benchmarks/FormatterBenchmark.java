@@ -0,0 +1,49 @@
+package serilogj.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.events.LogEvent;
+import serilogj.formatting.display.MessageTemplateTextFormatter;
+import serilogj.formatting.json.JsonFormatter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatterBenchmark {
+	private final JsonFormatter json = new JsonFormatter(false, "\n", true, null);
+	private final MessageTemplateTextFormatter text = new MessageTemplateTextFormatter(
+			"{Timestamp:yyyy-MM-dd HH:mm:ss.SSS} [{Level}] {Message}{NewLine}{Exception}", null);
+	private final Writer output = new NullWriter();
+	private LogEvent logEvent;
+
+	@Setup
+	public void setup() {
+		logEvent = Events.typical();
+	}
+
+	@Benchmark
+	public void json() throws IOException {
+		json.format(logEvent, output);
+	}
+
+	@Benchmark
+	public void text() throws IOException {
+		text.format(logEvent, output);
+	}
+}
@@ -0,0 +1,98 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventLevel;
+import serilogj.events.LogEventProperty;
+import serilogj.events.LogEventPropertyValue;
+import serilogj.events.ScalarValue;
+import serilogj.parsing.MessageTemplateParser;
+
+/**
+ * Checks that a frozen <see cref="LogEvent"/> refuses every change, and that
+ * a <see cref="LogEvent.mutableCopy"/> and its source, frozen or not, never
+ * see each other's changes although they share storage until the first one.
+ * Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.FrozenEventChecks
+ * </pre>
+ */
+public class FrozenEventChecks {
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		LogEvent frozen = event().freeze();
+		checks.isTrue("frozen", frozen.isFrozen());
+		checks.isTrue("freeze again returns the event", frozen.freeze() == frozen);
+		checks.fails("addOrUpdateProperty", IllegalStateException.class,
+				() -> frozen.addOrUpdateProperty(property("C", 3)));
+		checks.fails("addPropertyIfAbsent", IllegalStateException.class,
+				() -> frozen.addPropertyIfAbsent(property("C", 3)));
+		checks.fails("remotePropertyIfPresent", IllegalStateException.class,
+				() -> frozen.remotePropertyIfPresent("A"));
+		checks.fails("put through the map", UnsupportedOperationException.class,
+				() -> frozen.getProperties().put("C", new ScalarValue(3)));
+		checks.fails("remove through the map", UnsupportedOperationException.class,
+				() -> frozen.getProperties().remove("A"));
+		checks.fails("setValue through the entries", UnsupportedOperationException.class,
+				() -> frozen.getProperties().entrySet().iterator().next().setValue(new ScalarValue(3)));
+		checks.equal("frozen properties", "{A=1, B=2}", frozen.getProperties().toString());
+
+		// A copy of a frozen event changes on its own
+		LogEvent copy = frozen.mutableCopy();
+		checks.isTrue("copy is not frozen", !copy.isFrozen());
+		checks.equal("copy before changes", "{A=1, B=2}", copy.getProperties().toString());
+		copy.addOrUpdateProperty(property("A", 10));
+		copy.addPropertyIfAbsent(property("C", 3));
+		copy.remotePropertyIfPresent("B");
+		checks.equal("copy after changes", "{A=10, C=3}", copy.getProperties().toString());
+		checks.equal("source after the copy changed", "{A=1, B=2}", frozen.getProperties().toString());
+
+		// A copy of an unfrozen event: changes on either side stay there
+		LogEvent source = event();
+		LogEvent first = source.mutableCopy();
+		LogEvent second = source.mutableCopy();
+		checks.fails("setValue through the entries of a shared event", UnsupportedOperationException.class,
+				() -> source.getProperties().entrySet().iterator().next().setValue(new ScalarValue(3)));
+		source.addOrUpdateProperty(property("S", 0));
+		first.getProperties().put("F", new ScalarValue(0));
+		second.getProperties().remove("A");
+		checks.equal("source", "{A=1, B=2, S=0}", source.getProperties().toString());
+		checks.equal("first copy", "{A=1, B=2, F=0}", first.getProperties().toString());
+		checks.equal("second copy", "{B=2}", second.getProperties().toString());
+
+		// Once a side has its own storage, its entries can be changed again
+		Map.Entry<String, LogEventPropertyValue> entry = source.getProperties().entrySet().iterator().next();
+		entry.setValue(new ScalarValue(100));
+		checks.equal("source after setValue", "{A=100, B=2, S=0}", source.getProperties().toString());
+		checks.equal("first copy after setValue on the source", "{A=1, B=2, F=0}", first.getProperties().toString());
+
+		// A copy of a copy
+		LogEvent nested = first.mutableCopy();
+		nested.getProperties().clear();
+		checks.equal("cleared copy of a copy", "{}", nested.getProperties().toString());
+		checks.equal("its source", "{A=1, B=2, F=0}", first.getProperties().toString());
+
+		checks.equal("copy keeps the message", "Values 1 and 2", frozen.mutableCopy().renderMessage(null));
+	}
+
+	private static LogEvent event() {
+		ArrayList<LogEventProperty> properties = new ArrayList<LogEventProperty>();
+		properties.add(property("A", 1));
+		properties.add(property("B", 2));
+		return new LogEvent(new Date(), LogEventLevel.Information, null,
+				new MessageTemplateParser().parse("Values {A} and {B}"), properties);
+	}
+
+	private static LogEventProperty property(String name, int value) {
+		return new LogEventProperty(name, new ScalarValue(value));
+	}
+}
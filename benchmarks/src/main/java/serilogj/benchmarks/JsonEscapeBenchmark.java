@@ -0,0 +1,113 @@
+package serilogj.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.formatting.json.JsonFormatter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEscapeBenchmark {
+	@Param({ "ascii", "sql", "unicode" })
+	public String payload;
+
+	private final Writer output = new NullWriter();
+	private String text;
+
+	@Setup
+	public void setup() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; builder.length() < 4096; i++) {
+			switch (payload) {
+			case "ascii":
+				builder.append("Request ").append(i).append(" completed without errors; ");
+				break;
+			case "sql":
+				builder.append("SELECT \"Name\" FROM \"Orders\" WHERE \"Id\" = ").append(i).append("\n\t");
+				break;
+			default:
+				// Cyrillic and Japanese text, none of which needs escaping
+				builder.append("\u0417\u0430\u043a\u0430\u0437 ").append(i).append(" \u043e\u0431\u0440\u0430\u0431\u043e\u0442\u0430\u043d, \u6ce8\u6587\u306f\u51e6\u7406\u3055\u308c\u307e\u3057\u305f; ");
+				break;
+			}
+		}
+		text = builder.toString();
+	}
+
+	@Benchmark
+	public void table() throws IOException {
+		JsonFormatter.escape(text, output);
+	}
+
+	@Benchmark
+	public void previous() throws IOException {
+		output.write(previousEscape(text));
+	}
+
+	// The implementation replaced by the table-driven one, kept for comparison
+	private static String previousEscape(String s) {
+		StringBuilder escapedResult = null;
+		int cleanSegmentStart = 0;
+		for (int i = 0; i < s.length(); ++i) {
+			char c = s.charAt(i);
+			if (c < (char) 32 || c == '\\' || c == '"') {
+				if (escapedResult == null) {
+					escapedResult = new StringBuilder();
+				}
+
+				escapedResult.append(s.substring(cleanSegmentStart, i));
+				cleanSegmentStart = i + 1;
+
+				switch (c) {
+				case '"':
+					escapedResult.append("\\\"");
+					break;
+				case '\\':
+					escapedResult.append("\\\\");
+					break;
+				case '\n':
+					escapedResult.append("\\n");
+					break;
+				case '\r':
+					escapedResult.append("\\r");
+					break;
+				case '\f':
+					escapedResult.append("\\f");
+					break;
+				case '\t':
+					escapedResult.append("\\t");
+					break;
+				default:
+					escapedResult.append("\\u");
+					escapedResult.append(String.format("%04X", (int) c));
+					break;
+				}
+			}
+		}
+
+		if (escapedResult != null) {
+			if (cleanSegmentStart != s.length()) {
+				escapedResult.append(s.substring(cleanSegmentStart));
+			}
+			return escapedResult.toString();
+		}
+		return s;
+	}
+}
@@ -0,0 +1,133 @@
+package serilogj.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Random;
+
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventLevel;
+import serilogj.events.LogEventProperty;
+import serilogj.events.ScalarValue;
+import serilogj.formatting.json.JsonFormatter;
+import serilogj.parsing.MessageTemplateParser;
+
+/**
+ * Checks <see cref="JsonFormatter.escape"/>, to a string and to a writer,
+ * against a plain character by character escaper, over edge cases and random
+ * strings that mix ASCII, control characters, quotes, backslashes and
+ * characters outside ASCII (including surrogate pairs). Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.JsonEscapeChecks [strings] [seed]
+ * </pre>
+ */
+public class JsonEscapeChecks {
+	private static final String[] Cases = { "", "plain", "\"", "\\", "\"quoted\"", "back\\slash", "\n", "a\r\nb",
+			"\t\f\b", "\u0000", "\u001F", " ", "\u007F", "\u0080", "caf\u00E9", "\u2028\u2029", "\uD83D\uDE00",
+			"\uFFFF", "end\\", "\"start", "{\"Name\":\"value\"}" };
+	private static final char[] Alphabet = { 'a', 'Z', '0', ' ', '"', '\\', '/', '\n', '\r', '\t', '\f', '\b',
+			'\u0000', '\u001F', '\u007F', '\u00E9', '\u2028', '\uD83D', '\uDE00', '\uFFFF' };
+
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks, args.length > 0 ? Integer.parseInt(args[0]) : 200_000,
+				args.length > 1 ? Long.parseLong(args[1]) : 1);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		run(checks, 200_000, 1);
+	}
+
+	static void run(Checks checks, int strings, long seed) throws IOException {
+		checks.equal("null", null, JsonFormatter.escape(null));
+		StringWriter output = new StringWriter();
+		JsonFormatter.escape(null, output);
+		checks.equal("null to a writer", "", output.toString());
+		checks.fails("no writer", IllegalArgumentException.class, () -> JsonFormatter.escape("a", null));
+		String clean = "nothing to escape";
+		checks.isTrue("clean string returned as is", JsonFormatter.escape(clean) == clean);
+		checks.equal("short escapes", "\\n\\r\\t\\f\\\"\\\\", JsonFormatter.escape("\n\r\t\f\"\\"));
+		checks.equal("other control characters", "\\u0000\\u0008\\u001F", JsonFormatter.escape("\u0000\b\u001F"));
+
+		for (String value : Cases) {
+			check(checks, value);
+		}
+
+		Random random = new Random(seed);
+		StringBuilder builder = new StringBuilder();
+		int failures = 0;
+		for (int i = 0; i < strings; i++) {
+			builder.setLength(0);
+			int length = random.nextInt(40);
+			for (int j = 0; j < length; j++) {
+				// Mostly letters, so there are clean runs of varying length
+				builder.append(random.nextInt(3) == 0 ? Alphabet[random.nextInt(Alphabet.length)]
+						: (char) ('a' + random.nextInt(26)));
+			}
+			if (!check(checks, builder.toString())) {
+				failures++;
+			}
+		}
+		checks.equal(strings + " random strings with seed " + seed + ", failures", 0, failures);
+
+		// Property names and string values in formatted events are escaped too
+		ArrayList<LogEventProperty> properties = new ArrayList<LogEventProperty>();
+		properties.add(new LogEventProperty("Quote\"d", new ScalarValue("line\nbreak")));
+		LogEvent event = new LogEvent(new Date(), LogEventLevel.Information, null,
+				new MessageTemplateParser().parse("Event"), properties);
+		output = new StringWriter();
+		new JsonFormatter(false, "", false, null).format(event, output);
+		checks.isTrue("formatted event " + output,
+				output.toString().contains("\"Quote\\\"d\":\"line\\nbreak\""));
+	}
+
+	// Returns false after recording a failure for the string
+	private static boolean check(Checks checks, String value) throws IOException {
+		String expected = reference(value);
+		String escaped = JsonFormatter.escape(value);
+		StringWriter output = new StringWriter();
+		output.write("[");
+		JsonFormatter.escape(value, output);
+		if (expected.equals(escaped) && output.toString().equals("[" + expected)) {
+			return true;
+		}
+		checks.equal("escaping " + reference(value), expected, escaped + " and " + output.toString().substring(1));
+		return false;
+	}
+
+	private static String reference(String value) {
+		StringBuilder escaped = new StringBuilder();
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"':
+				escaped.append("\\\"");
+				break;
+			case '\\':
+				escaped.append("\\\\");
+				break;
+			case '\n':
+				escaped.append("\\n");
+				break;
+			case '\r':
+				escaped.append("\\r");
+				break;
+			case '\t':
+				escaped.append("\\t");
+				break;
+			case '\f':
+				escaped.append("\\f");
+				break;
+			default:
+				if (c < 0x20) {
+					escaped.append(String.format("\\u%04X", (int) c));
+				} else {
+					escaped.append(c);
+				}
+			}
+		}
+		return escaped.toString();
+	}
+}
@@ -0,0 +1,51 @@
+package serilogj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.context.LogContext;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogContextBenchmark {
+	@Benchmark
+	public void pushPop() throws Exception {
+		AutoCloseable property = LogContext.pushProperty("RequestId", "req-42");
+		try {
+		} finally {
+			property.close();
+		}
+	}
+
+	@Benchmark
+	public void nestedPushPop() throws Exception {
+		AutoCloseable request = LogContext.pushProperty("RequestId", "req-42");
+		try {
+			AutoCloseable user = LogContext.pushProperty("UserId", 7);
+			try {
+				AutoCloseable operation = LogContext.pushProperty("Operation", "checkout");
+				try {
+				} finally {
+					operation.close();
+				}
+			} finally {
+				user.close();
+			}
+		} finally {
+			request.close();
+		}
+	}
+}
@@ -0,0 +1,166 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import serilogj.LoggerConfiguration;
+import serilogj.context.LogContext;
+import serilogj.context.LogContextExecutorService;
+import serilogj.context.LogContextSnapshot;
+import serilogj.core.Logger;
+import serilogj.core.enrichers.LogContextEnricher;
+import serilogj.events.LogEvent;
+
+/**
+ * Checks that <see cref="LogContext"/> properties are captured and restored
+ * across threads by snapshots and the wrapping helpers, that closing a
+ * restored scope puts the previous properties back, and that
+ * <see cref="LogContext.runWith"/> discards whatever its action leaves in
+ * scope. Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.LogContextSnapshotChecks
+ * </pre>
+ */
+public class LogContextSnapshotChecks {
+	// Only one thread logs at a time
+	private static final List<LogEvent> events = Collections.synchronizedList(new ArrayList<LogEvent>());
+	private static final Logger logger = new LoggerConfiguration().with(new LogContextEnricher())
+			.writeTo(events::add).createLogger();
+
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		LogContextSnapshot empty = LogContext.capture();
+		checks.isTrue("empty snapshot", empty.isEmpty());
+
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			AutoCloseable a = LogContext.pushProperty("A", 1);
+			try {
+				AutoCloseable b = LogContext.pushProperty("B", 2);
+				try {
+					LogContextSnapshot snapshot = LogContext.capture();
+					checks.isTrue("snapshot with properties", !snapshot.isEmpty());
+
+					checks.equal("restored on another thread", "{A=1, B=2}", pool.submit(() -> {
+						LogContextSnapshot.Scope scope = snapshot.restore();
+						try {
+							return context();
+						} finally {
+							scope.close();
+						}
+					}).get());
+					checks.equal("pool thread after the scope closed", "{}", pool.submit(() -> context()).get());
+
+					checks.equal("wrapped Runnable", "{A=1, B=2}", runOn(pool, LogContext.wrap(() -> {
+						logger.information("Wrapped");
+					})));
+					checks.equal("wrapped Callable", "{A=1, B=2}",
+							pool.submit(LogContext.wrap(LogContextSnapshotChecks::context)).get());
+					checks.equal("wrapped Supplier", "{A=1, B=2}",
+							CompletableFuture.supplyAsync(LogContext.wrapSupplier(() -> context()), pool).get());
+					checks.equal("wrapped Executor", "{A=1, B=2}", CompletableFuture
+							.supplyAsync(() -> context(), LogContext.wrap(pool)).get());
+					checks.equal("LogContextExecutorService", "{A=1, B=2}",
+							new LogContextExecutorService(pool).submit(() -> context()).get());
+				} finally {
+					b.close();
+				}
+			} finally {
+				a.close();
+			}
+			checks.equal("after both closed", "{}", context());
+
+			// Restoring replaces the current properties, and closing brings
+			// them back, on the same thread too
+			LogContextSnapshot captured;
+			AutoCloseable c = LogContext.pushProperty("C", 3);
+			try {
+				captured = LogContext.capture();
+			} finally {
+				c.close();
+			}
+			AutoCloseable d = LogContext.pushProperty("D", 4);
+			try {
+				LogContextSnapshot.Scope scope = captured.restore();
+				try {
+					checks.equal("restored over other properties", "{C=3}", context());
+				} finally {
+					scope.close();
+				}
+				checks.equal("after closing the restored scope", "{D=4}", context());
+
+				LogContext.capture().restore().close();
+				checks.equal("restoring the current properties", "{D=4}", context());
+
+				// An empty snapshot clears the context while restored
+				scope = empty.restore();
+				try {
+					checks.equal("restored empty snapshot", "{}", context());
+				} finally {
+					scope.close();
+				}
+				checks.equal("after closing the empty scope", "{D=4}", context());
+
+				// runWith binds in map order and drops what its action leaks
+				Map<String, Object> properties = new LinkedHashMap<String, Object>();
+				properties.put("E", 5);
+				properties.put("D", 40);
+				List<String> seen = new ArrayList<String>();
+				LogContext.runWith(properties, () -> {
+					LogContext.pushProperty("Leaked", 0);
+					seen.add(context());
+				});
+				checks.equal("inside runWith", "[{D=40, E=5, Leaked=0}]", seen.toString());
+				checks.equal("after runWith", "{D=4}", context());
+				checks.equal("callWith", "{D=4, F=6}",
+						LogContext.callWith(Collections.singletonMap("F", 6), LogContextSnapshotChecks::context));
+				checks.fails("runWith a null action", IllegalArgumentException.class,
+						() -> LogContext.runWith(properties, null));
+			} finally {
+				d.close();
+			}
+
+			// Scopes closed out of order remove only their own property
+			AutoCloseable x = LogContext.pushProperty("X", 1);
+			AutoCloseable y = LogContext.pushProperty("Y", 2);
+			x.close();
+			checks.equal("after closing out of order", "{Y=2}", context());
+			y.close();
+			checks.equal("after closing both", "{}", context());
+		} finally {
+			pool.shutdown();
+		}
+		checks.fails("wrap a null Runnable", IllegalArgumentException.class, () -> LogContext.wrap((Runnable) null));
+	}
+
+	// Runs a task that logs once, and lists the properties of its event
+	private static String runOn(ExecutorService pool, Runnable runnable) throws Exception {
+		events.clear();
+		pool.submit(runnable).get();
+		return describe(events.remove(0));
+	}
+
+	// Logs an event on the current thread and lists its properties
+	private static String context() {
+		events.clear();
+		logger.information("Context");
+		return describe(events.remove(0));
+	}
+
+	private static String describe(LogEvent event) {
+		return new TreeMap<String, Object>(event.getProperties()).toString();
+	}
+}
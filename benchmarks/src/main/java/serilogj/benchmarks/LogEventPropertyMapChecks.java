@@ -0,0 +1,171 @@
+package serilogj.benchmarks;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import serilogj.events.LogEventPropertyMap;
+import serilogj.events.LogEventPropertyValue;
+import serilogj.events.ScalarValue;
+
+/**
+ * Checks <see cref="LogEventPropertyMap"/> against a
+ * <see cref="LinkedHashMap"/>, which has the same ordering rules, over random
+ * puts, removes, lookups (with right and wrong position hints), iterator
+ * removals, entry updates, clears and copies. Names are drawn from a pool
+ * larger than the size at which the map adds a hash index, so both lookup
+ * paths are covered. Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.LogEventPropertyMapChecks [operations] [seed]
+ * </pre>
+ */
+public class LogEventPropertyMapChecks {
+	private static final String[] Names = new String[20];
+
+	static {
+		for (int i = 0; i < Names.length; i++) {
+			Names[i] = "P" + i;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks, args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000,
+				args.length > 1 ? Long.parseLong(args[1]) : 1);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		run(checks, 1_000_000, 1);
+	}
+
+	static void run(Checks checks, int operations, long seed) {
+		Random random = new Random(seed);
+		LogEventPropertyMap map = new LogEventPropertyMap();
+		LinkedHashMap<String, LogEventPropertyValue> expected = new LinkedHashMap<String, LogEventPropertyValue>();
+
+		for (int i = 0; i < operations; i++) {
+			String name = Names[random.nextInt(Names.length)];
+			String operation;
+			Object actualResult = null;
+			Object expectedResult = null;
+			switch (random.nextInt(10)) {
+			case 0:
+			case 1:
+			case 2:
+				operation = "put " + name;
+				ScalarValue value = new ScalarValue(random.nextInt(100));
+				actualResult = map.put(name, value);
+				expectedResult = expected.put(name, value);
+				break;
+			case 3:
+				operation = "remove " + name;
+				actualResult = map.remove(name);
+				expectedResult = expected.remove(name);
+				break;
+			case 4:
+				operation = "get " + name;
+				actualResult = map.get(name);
+				expectedResult = expected.get(name);
+				break;
+			case 5:
+				int hint = random.nextInt(Names.length + 2) - 1;
+				operation = "get " + name + " at " + hint;
+				actualResult = map.get(name, hint);
+				expectedResult = expected.get(name);
+				break;
+			case 6:
+				operation = "containsKey " + name;
+				actualResult = map.containsKey(name);
+				expectedResult = expected.containsKey(name);
+				break;
+			case 7:
+				int position = map.isEmpty() ? 0 : random.nextInt(map.size());
+				operation = "iterator remove at " + position;
+				removeAt(map.entrySet().iterator(), position);
+				removeAt(expected.entrySet().iterator(), position);
+				break;
+			case 8:
+				operation = "setValue of " + name;
+				ScalarValue replacement = new ScalarValue(-random.nextInt(100));
+				map.entrySet().forEach(entry -> {
+					if (entry.getKey().equals(name)) {
+						entry.setValue(replacement);
+					}
+				});
+				expected.replaceAll((key, old) -> key.equals(name) ? replacement : old);
+				break;
+			default:
+				if (random.nextInt(20) == 0) {
+					operation = "clear";
+					map.clear();
+					expected.clear();
+				} else {
+					// Changing a copy must leave the original alone; carry on
+					// with another copy, so later operations run on its storage
+					operation = "copy";
+					map.copy().put("Copy", new ScalarValue(0));
+					map = map.copy();
+				}
+				break;
+			}
+
+			String actual = describe(map);
+			String wanted = describe(expected);
+			if (!actual.equals(wanted) || !Objects.equals(actualResult, expectedResult)) {
+				checks.equal("operation " + i + " (" + operation + ") with seed " + seed, wanted + " -> "
+						+ expectedResult, actual + " -> " + actualResult);
+				return;
+			}
+		}
+		checks.isTrue(operations + " random operations", true);
+
+		checks.fails("put with a null name", IllegalArgumentException.class,
+				() -> new LogEventPropertyMap().put(null, new ScalarValue(1)));
+		checks.fails("getName past the end", IndexOutOfBoundsException.class,
+				() -> new LogEventPropertyMap().getName(0));
+
+		LogEventPropertyMap changing = new LogEventPropertyMap();
+		changing.put("A", new ScalarValue(1));
+		changing.put("B", new ScalarValue(2));
+		checks.fails("adding while iterating", ConcurrentModificationException.class, () -> {
+			for (Map.Entry<String, LogEventPropertyValue> entry : changing.entrySet()) {
+				changing.put(entry.getKey() + "2", entry.getValue());
+			}
+		});
+		checks.fails("adding from forEach", ConcurrentModificationException.class,
+				() -> changing.forEach((name, value) -> changing.put(name + "3", value)));
+	}
+
+	private static void removeAt(Iterator<?> iterator, int position) {
+		for (int i = 0; i <= position && iterator.hasNext(); i++) {
+			iterator.next();
+			if (i == position) {
+				iterator.remove();
+			}
+		}
+	}
+
+	// Lists the entries in iteration order, and for the property map also
+	// checks that positional access agrees with iteration
+	private static String describe(Map<String, LogEventPropertyValue> map) {
+		StringBuilder description = new StringBuilder();
+		int position = 0;
+		for (Map.Entry<String, LogEventPropertyValue> entry : map.entrySet()) {
+			description.append(entry.getKey()).append('=').append(entry.getValue()).append(' ');
+			if (map instanceof LogEventPropertyMap) {
+				LogEventPropertyMap properties = (LogEventPropertyMap) map;
+				if (!properties.getName(position).equals(entry.getKey())
+						|| properties.getValue(position) != entry.getValue()) {
+					description.append("(position ").append(position).append(" differs) ");
+				}
+			}
+			position++;
+		}
+		return description.append("size ").append(map.size()).toString();
+	}
+}
@@ -0,0 +1,74 @@
+package serilogj.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.LoggerConfiguration;
+import serilogj.core.Logger;
+import serilogj.formatting.display.MessageTemplateTextFormatter;
+import serilogj.sinks.rollingfile.FileSink;
+
+/**
+ * End to end: template parsing (cached), capture, enrichment and emission.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+	private Logger nullLogger;
+	private Logger fileLogger;
+	private File directory;
+
+	@Setup
+	public void setup() throws IOException {
+		nullLogger = new LoggerConfiguration().writeTo(e -> {
+		}).createLogger();
+
+		directory = Files.createTempDirectory("serilogj-benchmarks").toFile();
+		FileSink sink = new FileSink(new File(directory, "log.txt").getPath(), null, true,
+				new MessageTemplateTextFormatter("{Timestamp} [{Level}] {Message}{NewLine}", null));
+		fileLogger = new LoggerConfiguration().writeTo(sink).createLogger();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		nullLogger.close();
+		fileLogger.close();
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Benchmark
+	public void nullSink() {
+		nullLogger.information("Processed {OrderId} for {CustomerId} in {Elapsed} ms", 1234, "customers/42", 12.5);
+	}
+
+	@Benchmark
+	public void fileSink() {
+		fileLogger.information("Processed {OrderId} for {CustomerId} in {Elapsed} ms", 1234, "customers/42", 12.5);
+	}
+
+	@Benchmark
+	public void disabledLevel() {
+		nullLogger.debug("Processed {OrderId} for {CustomerId} in {Elapsed} ms", 1234, "customers/42", 12.5);
+	}
+}
@@ -0,0 +1,44 @@
+package serilogj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.core.pipeline.MessageTemplateCache;
+import serilogj.events.MessageTemplate;
+import serilogj.parsing.MessageTemplateParser;
+
+/**
+ * Cache hits under contention; the threads share one cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateCacheBenchmark {
+	private final MessageTemplateCache cache = new MessageTemplateCache(new MessageTemplateParser());
+	private final String template = "Processed {@Order} for {CustomerId} in {Elapsed:000} ms";
+
+	@Benchmark
+	@Threads(1)
+	public MessageTemplate hitSingleThread() {
+		return cache.parse(template);
+	}
+
+	@Benchmark
+	@Threads(8)
+	public MessageTemplate hitEightThreads() {
+		return cache.parse(template);
+	}
+}
@@ -0,0 +1,57 @@
+package serilogj.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.events.MessageTemplate;
+import serilogj.parsing.MessageTemplateParser;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateParserBenchmark {
+	private final MessageTemplateParser parser = new MessageTemplateParser();
+
+	private final String text = "Service started, nothing to substitute here";
+	private final String typical = "Processed {@Order} for {CustomerId} in {Elapsed:000} ms";
+	private final String positional = "Moved {0} items from {1} to {2,-10}";
+	private final String escaped = "Braces {{like this}} and a {Property} with {$Stringified}";
+	private final String large = Templates.large();
+
+	@Benchmark
+	public MessageTemplate text() {
+		return parser.parse(text);
+	}
+
+	@Benchmark
+	public MessageTemplate typical() {
+		return parser.parse(typical);
+	}
+
+	@Benchmark
+	public MessageTemplate positional() {
+		return parser.parse(positional);
+	}
+
+	@Benchmark
+	public MessageTemplate escaped() {
+		return parser.parse(escaped);
+	}
+
+	@Benchmark
+	public MessageTemplate large() {
+		return parser.parse(large);
+	}
+}
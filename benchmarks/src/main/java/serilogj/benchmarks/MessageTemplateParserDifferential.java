@@ -0,0 +1,165 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import serilogj.parsing.Alignment;
+import serilogj.parsing.MessageTemplateParser;
+import serilogj.parsing.MessageTemplateToken;
+import serilogj.parsing.PropertyToken;
+
+/**
+ * Checks that <see cref="MessageTemplateParser"/> tokenizes templates exactly
+ * as <see cref="PreviousMessageTemplateParser"/> did: token types, offsets,
+ * text, names, formats, alignments, destructuring and positions. Runs a list
+ * of edge cases followed by random templates built from the characters that
+ * matter to the parser. Not a JMH benchmark; run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.MessageTemplateParserDifferential [count] [seed]
+ * </pre>
+ *
+ * The previous parser threw on some invalid tags (empty names such as
+ * "{:x}", a bare "-" alignment, widths that overflow an int); the current one
+ * turns those into text like other invalid tags. For such templates each
+ * property token is checked against what the previous parser makes of that tag
+ * on its own. Exits with status 1 if any template differs.
+ */
+public class MessageTemplateParserDifferential {
+	private static final String[] EdgeCases = { "", " ", "{", "}", "{}", "{{", "}}", "{{}}", "{{A}}", "{A}", "{A}}",
+			"{{A}", "}{A}{", "{@A}", "{$A}", "{@}", "{$}", "{@$A}", "{_}", "{A B}", "{A.B}", "{0}", "{00}", "{+1}",
+			"{-0}", "{-1}", "{2147483647}", "{2147483648}", "{A,5}", "{A,-5}", "{A,0}", "{A,-0}", "{A,-}", "{A,5-}",
+			"{A,--5}", "{A,}", "{A,99999999999}", "{A,5:x}", "{A:x,5}", "{A,:x}", "{A:}", "{A::}", "{A:0.00}",
+			"{A:yyyy-MM-dd HH:mm}", "{A:x}}", "{:x}", "{,5}", "{A,10:x} and {B,-3}", "a{{b}}c{D}e",
+			"Processed {@Order} for {CustomerId} in {Elapsed:000} ms", "Moved {0} items from {1} to {2,-10}",
+			"\u00e9{\u00e9}", "{\u0663}", "{A\tB}", "{A\n}" };
+
+	// Weighted towards the characters the tokenizer treats specially
+	private static final String Alphabet = "{{{{}}}}::,,--@$_ aAzZ09.!?;+\t\u00e9\u0663";
+
+	public static void main(String[] args) {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+		PreviousMessageTemplateParser previous = new PreviousMessageTemplateParser();
+		MessageTemplateParser current = new MessageTemplateParser();
+		Random random = new Random(seed);
+
+		int compared = 0;
+		int rejectedBefore = 0;
+		List<String> failures = new ArrayList<String>();
+		for (int i = 0; i < EdgeCases.length + count; i++) {
+			String template = i < EdgeCases.length ? EdgeCases[i] : randomTemplate(random);
+
+			List<MessageTemplateToken> tokens = null;
+			String actual;
+			try {
+				tokens = current.parse(template).getTokens();
+				actual = describe(tokens, false);
+			} catch (RuntimeException ex) {
+				actual = ex.toString();
+			}
+
+			String expected;
+			try {
+				expected = describe(previous.parse(template).getTokens(), true);
+			} catch (RuntimeException ex) {
+				rejectedBefore++;
+				String mismatch = tokens == null ? actual : findRejectedMismatch(previous, tokens);
+				if (mismatch != null) {
+					failures.add(quote(template) + ": previous threw " + ex + ", current gave " + mismatch);
+				}
+				continue;
+			}
+
+			compared++;
+			if (!expected.equals(actual)) {
+				failures.add(quote(template) + ": expected " + expected + ", got " + actual);
+			}
+		}
+
+		System.out.printf("%,d templates identical, %,d rejected by the previous parser, %,d differences%n",
+				compared - failures.size(), rejectedBefore, failures.size());
+		for (int i = 0; i < Math.min(failures.size(), 20); i++) {
+			System.out.println(failures.get(i));
+		}
+		if (!failures.isEmpty()) {
+			System.exit(1);
+		}
+	}
+
+	// Property tokens are compared with the previous parser's reading of the
+	// same tag alone; text tokens aren't, as their offsets and escaping
+	// depend on the surrounding template
+	private static String findRejectedMismatch(PreviousMessageTemplateParser previous,
+			List<MessageTemplateToken> tokens) {
+		for (MessageTemplateToken token : tokens) {
+			if (!(token instanceof PropertyToken)) {
+				continue;
+			}
+
+			ArrayList<MessageTemplateToken> single = new ArrayList<MessageTemplateToken>();
+			single.add(token);
+			String actual = describe(single, false).replaceFirst("\\(-?\\d+,", "(");
+			String expected;
+			try {
+				expected = describe(previous.parse(token.toString()).getTokens(), true).replaceFirst("\\(-?\\d+,",
+						"(");
+			} catch (RuntimeException ex) {
+				expected = ex.toString();
+			}
+			if (!expected.equals(actual)) {
+				return actual + ", expected " + expected;
+			}
+		}
+		return null;
+	}
+
+	private static String randomTemplate(Random random) {
+		int length = random.nextInt(25);
+		StringBuilder template = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			template.append(Alphabet.charAt(random.nextInt(Alphabet.length())));
+		}
+		return template.toString();
+	}
+
+	// The previous parser shares PropertyToken with the current one, so the
+	// position it would have had is worked out here the way it was before
+	private static String describe(List<MessageTemplateToken> tokens, boolean previous) {
+		StringBuilder description = new StringBuilder("[");
+		for (MessageTemplateToken token : tokens) {
+			description.append(token instanceof PropertyToken ? "Property(" : "Text(");
+			description.append(token.getStartIndex()).append(',').append(token.getLength()).append(',');
+			description.append(quote(token.toString()));
+			if (token instanceof PropertyToken) {
+				PropertyToken property = (PropertyToken) token;
+				Alignment alignment = property.getAlignment();
+				description.append(',').append(quote(property.getPropertyName()));
+				description.append(',').append(property.getFormat() == null ? "null" : quote(property.getFormat()));
+				description.append(',').append(
+						alignment == null ? "null" : alignment.getDirection() + " " + alignment.getWidth());
+				description.append(',').append(property.getDestructuring());
+				description.append(',').append(previous ? previousPosition(property.getPropertyName())
+						: property.getIsPositional() ? property.getPosition() : -1);
+			}
+			description.append(')');
+		}
+		return description.append(']').toString();
+	}
+
+	private static int previousPosition(String propertyName) {
+		try {
+			int position = Integer.parseInt(propertyName);
+			return position >= 0 ? position : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private static String quote(String text) {
+		return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\t", "\\t").replace("\n", "\\n")
+				+ "\"";
+	}
+}
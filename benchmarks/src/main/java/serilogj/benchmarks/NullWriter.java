@@ -0,0 +1,28 @@
+package serilogj.benchmarks;
+
+import java.io.Writer;
+
+/**
+ * Discards everything; keeps I/O out of formatter measurements.
+ */
+final class NullWriter extends Writer {
+	@Override
+	public void write(int c) {
+	}
+
+	@Override
+	public void write(char[] buffer, int offset, int length) {
+	}
+
+	@Override
+	public void write(String str, int offset, int length) {
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+	}
+}
@@ -0,0 +1,106 @@
+package serilogj.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import serilogj.core.IDestructuringPolicy;
+import serilogj.events.LogEventPropertyValue;
+import serilogj.parameters.PropertyValueConverter;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyValueConverterBenchmark {
+	public static class Order {
+		public int id = 1234;
+		public String customer = "Contoso";
+		public double total = 99.95;
+
+		public int getLines() {
+			return 3;
+		}
+	}
+
+	public static class LargeOrder {
+		public int id = 5678;
+		public String customer = "Fabrikam";
+		public List<Order> lines = new ArrayList<Order>();
+	}
+
+	private final PropertyValueConverter converter = new PropertyValueConverter(10, new Class<?>[0],
+			new IDestructuringPolicy[0]);
+	private final PropertyValueConverter streamingConverter = new PropertyValueConverter(10, new Class<?>[0],
+			new IDestructuringPolicy[0], true);
+
+	private final Object number = 42;
+	private final Object text = "forty-two";
+	private final Object array = new Object[] { 1, "two", 3.0, true };
+	private final Map<String, Object> map = new HashMap<String, Object>();
+	private final Order order = new Order();
+	private final LargeOrder largeOrder = new LargeOrder();
+
+	public PropertyValueConverterBenchmark() {
+		map.put("a", 1);
+		map.put("b", "two");
+		map.put("c", 3.0);
+		for (int i = 0; i < 100; i++) {
+			largeOrder.lines.add(new Order());
+		}
+	}
+
+	@Benchmark
+	public LogEventPropertyValue integer() {
+		return converter.createPropertyValue(number);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue string() {
+		return converter.createPropertyValue(text);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue array() {
+		return converter.createPropertyValue(array);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue dictionary() {
+		return converter.createPropertyValue(map);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue destructured() {
+		return converter.createPropertyValue(order, true);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue destructuredLarge() {
+		return converter.createPropertyValue(largeOrder, true);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue streamingDestructured() {
+		return streamingConverter.createPropertyValue(order, true);
+	}
+
+	@Benchmark
+	public LogEventPropertyValue streamingDestructuredLarge() {
+		return streamingConverter.createPropertyValue(largeOrder, true);
+	}
+}
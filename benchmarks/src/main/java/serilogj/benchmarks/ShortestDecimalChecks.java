@@ -0,0 +1,171 @@
+package serilogj.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import serilogj.formatting.NumericWriter;
+
+/**
+ * Checks the doubles and floats written by <see cref="NumericWriter"/> over
+ * edge cases and random bit patterns: each must parse back to the same value,
+ * have no more digits than needed (no rounding to one digit fewer parses
+ * back, from three digits up), be no longer than <see cref="Double.toString"/>, and use its layout.
+ * From Java 19 on, where <see cref="Double.toString"/> is also shortest, the
+ * text must match it exactly. Run it with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.ShortestDecimalChecks [values] [seed]
+ * </pre>
+ */
+public class ShortestDecimalChecks {
+	private static final double[] DoubleCases = { 0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE,
+			Double.MIN_NORMAL, Math.nextDown(Double.MIN_NORMAL), Double.MAX_VALUE, -Double.MAX_VALUE, 1.0, -1.0,
+			0.1, 0.2, 0.3, 0.1 + 0.2, 2.0E-3, 1.0E-3, Math.nextDown(1.0E-3), 1.0E7, Math.nextDown(1.0E7), 1.0E23,
+			9007199254740993.0, 4.9E-324, 2.2250738585072014E-308, 1.7976931348623157E308, 123456.789,
+			Math.PI, Math.E, 5.0E-324, 2.0E-323, 1.0E21, 1.0E22 };
+	private static final float[] FloatCases = { 0.0f, -0.0f, Float.MIN_VALUE, -Float.MIN_VALUE, Float.MIN_NORMAL,
+			Math.nextDown(Float.MIN_NORMAL), Float.MAX_VALUE, -Float.MAX_VALUE, 1.0f, 0.1f, 0.3f, 2.0E-3f, 1.0E-3f,
+			Math.nextDown(1.0E-3f), 1.0E7f, Math.nextDown(1.0E7f), 16777217.0f, 3.4028235E38f, 1.4E-45f,
+			(float) Math.PI, 1.0E10f };
+
+	public static void main(String[] args) throws Exception {
+		Checks checks = new Checks();
+		run(checks, args.length > 0 ? Integer.parseInt(args[0]) : 200_000,
+				args.length > 1 ? Long.parseLong(args[1]) : 1);
+		checks.exit();
+	}
+
+	static void run(Checks checks) throws Exception {
+		run(checks, 200_000, 1);
+	}
+
+	static void run(Checks checks, int values, long seed) throws IOException {
+		boolean exact = javaVersion() >= 19;
+
+		checks.equal("NaN", "NaN", write(Double.NaN));
+		checks.equal("Infinity", "Infinity", write(Double.POSITIVE_INFINITY));
+		checks.equal("-Infinity", "-Infinity", write(Double.NEGATIVE_INFINITY));
+		checks.equal("float NaN", "NaN", write(Float.NaN));
+		checks.equal("float -Infinity", "-Infinity", write(Float.NEGATIVE_INFINITY));
+		checks.equal("2.0E-3, which Java 8 writes as 0.0020", "0.002", write(2.0E-3));
+		checks.equal("1.0E23, which Java 8 writes as 1.0000000000000001E23", "1.0E23", write(1.0E23));
+		checks.equal("float 1.0E10, which Java 8 writes as 1.00000003E10", "1.0E10", write(1.0E10f));
+
+		for (double value : DoubleCases) {
+			check(checks, value, exact);
+		}
+		for (float value : FloatCases) {
+			check(checks, value, exact);
+		}
+
+		Random random = new Random(seed);
+		int doubleFailures = 0;
+		int floatFailures = 0;
+		for (int i = 0; i < values; i++) {
+			double value = Double.longBitsToDouble(random.nextLong());
+			if (Double.isFinite(value) && !check(checks, value, exact)) {
+				doubleFailures++;
+			}
+			float single = Float.intBitsToFloat(random.nextInt());
+			if (Float.isFinite(single) && !check(checks, single, exact)) {
+				floatFailures++;
+			}
+		}
+		checks.equal(values + " random doubles with seed " + seed + ", failures", 0, doubleFailures);
+		checks.equal(values + " random floats with seed " + seed + ", failures", 0, floatFailures);
+	}
+
+	// Returns false after recording the first failed check for the value
+	private static boolean check(Checks checks, double value, boolean exact) throws IOException {
+		String text = write(value);
+		String reference = Double.toString(value);
+		String failure = null;
+		if (Double.doubleToRawLongBits(Double.parseDouble(text)) != Double.doubleToRawLongBits(value)) {
+			failure = "parses back to " + Double.parseDouble(text);
+		} else if (text.length() > reference.length()) {
+			failure = "longer than " + reference;
+		} else if (!sameLayout(text, reference)) {
+			failure = "laid out unlike " + reference;
+		} else if (exact && !text.equals(reference)) {
+			failure = "differs from " + reference;
+		} else {
+			BigDecimal shorter = fewerDigits(text);
+			if (shorter != null && (Double.parseDouble(round(shorter, RoundingMode.FLOOR)) == value
+					|| Double.parseDouble(round(shorter, RoundingMode.CEILING)) == value)) {
+				failure = "not shortest";
+			}
+		}
+		return record(checks, "double " + reference + " written as " + text, failure);
+	}
+
+	private static boolean check(Checks checks, float value, boolean exact) throws IOException {
+		String text = write(value);
+		String reference = Float.toString(value);
+		String failure = null;
+		if (Float.floatToRawIntBits(Float.parseFloat(text)) != Float.floatToRawIntBits(value)) {
+			failure = "parses back to " + Float.parseFloat(text);
+		} else if (text.length() > reference.length()) {
+			failure = "longer than " + reference;
+		} else if (!sameLayout(text, reference)) {
+			failure = "laid out unlike " + reference;
+		} else if (exact && !text.equals(reference)) {
+			failure = "differs from " + reference;
+		} else {
+			BigDecimal shorter = fewerDigits(text);
+			if (shorter != null && (Float.parseFloat(round(shorter, RoundingMode.FLOOR)) == value
+					|| Float.parseFloat(round(shorter, RoundingMode.CEILING)) == value)) {
+				failure = "not shortest";
+			}
+		}
+		return record(checks, "float " + reference + " written as " + text, failure);
+	}
+
+	private static boolean record(Checks checks, String description, String failure) {
+		if (failure == null) {
+			return true;
+		}
+		checks.isTrue(description + ": " + failure, false);
+		return false;
+	}
+
+	// Plain notation between 10^-3 and 10^7, scientific outside, and always a
+	// digit on both sides of the point
+	private static boolean sameLayout(String text, String reference) {
+		return text.contains("E") == reference.contains("E") && text.startsWith("-") == reference.startsWith("-")
+				&& text.matches("-?[0-9]+\\.[0-9]+(E-?[0-9]+)?|NaN|-?Infinity");
+	}
+
+	// The value of the text, to be rounded to one digit fewer either way, or
+	// null if it has two digits or less: like Double.toString, a two digit
+	// result closer to the value wins over a one digit one (4.9E-324, not
+	// 5.0E-324)
+	private static BigDecimal fewerDigits(String text) {
+		BigDecimal decimal = new BigDecimal(text).stripTrailingZeros();
+		return decimal.precision() > 2 ? decimal : null;
+	}
+
+	private static String round(BigDecimal decimal, RoundingMode mode) {
+		return decimal.round(new MathContext(decimal.precision() - 1, mode)).toString();
+	}
+
+	private static String write(double value) throws IOException {
+		StringWriter output = new StringWriter();
+		NumericWriter.write(output, value);
+		return output.toString();
+	}
+
+	private static String write(float value) throws IOException {
+		StringWriter output = new StringWriter();
+		NumericWriter.write(output, value);
+		return output.toString();
+	}
+
+	private static int javaVersion() {
+		String version = System.getProperty("java.specification.version");
+		return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+	}
+}
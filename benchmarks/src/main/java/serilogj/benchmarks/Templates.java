@@ -0,0 +1,18 @@
+package serilogj.benchmarks;
+
+final class Templates {
+	private Templates() {
+	}
+
+	/**
+	 * A template over the 1024 character limit of the template cache, so it
+	 * is parsed on every call.
+	 */
+	static String large() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; builder.length() <= 1100; i++) {
+			builder.append("Step ").append(i).append(" took {Elapsed").append(i).append(":0.00} ms; ");
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,159 @@
+package serilogj.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import serilogj.Log;
+import serilogj.LoggerConfiguration;
+import serilogj.context.LogContext;
+import serilogj.core.Logger;
+import serilogj.core.enrichers.LogContextEnricher;
+import serilogj.debugging.SelfLog;
+import serilogj.formatting.display.MessageTemplateTextFormatter;
+import serilogj.sinks.rollingfile.FileSink;
+import serilogj.sinks.rollingfile.RollingFileSink;
+
+/**
+ * Starts a virtual thread per logging call, all at once, through the static
+ * <see cref="Log"/>, a <see cref="FileSink"/> and a <see cref="RollingFileSink"/>,
+ * while Flight Recorder records <code>jdk.VirtualThreadPinned</code> events
+ * with no threshold. Each pinned event is reported with the serilogj frame
+ * nearest the top of its stack. Not a JMH benchmark; run it on Java 21 or
+ * later with
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar serilogj.benchmarks.VirtualThreadStress [threads]
+ * </pre>
+ *
+ * Exits with status 1 if any event was pinned inside serilogj, or if the file
+ * doesn't hold one line per call. On older JVMs, which have no virtual
+ * threads, it says so and exits with status 2.
+ */
+public class VirtualThreadStress {
+	private static final String PinnedEvent = "jdk.VirtualThreadPinned";
+
+	public static void main(String[] args) throws Exception {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+		ExecutorService executor;
+		try {
+			executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			System.out.println("Virtual threads need Java 21 or later, this is " + System.getProperty("java.version"));
+			System.exit(2);
+			return;
+		}
+
+		Path directory = Files.createTempDirectory("serilogj-stress");
+		File file = directory.resolve("log.txt").toFile();
+		MessageTemplateTextFormatter formatter = new MessageTemplateTextFormatter(
+				"{Timestamp} [{Level}] {Message} {Task}{NewLine}", null);
+		Logger logger = new LoggerConfiguration()
+				.writeTo(new FileSink(file.getPath(), null, false, formatter))
+				.writeTo(new RollingFileSink(directory.resolve("rolling-{Date}.txt").toString(), null, null, true,
+						formatter))
+				.with(new LogContextEnricher()).createLogger();
+		Log.setLogger(logger);
+		SelfLog.setOut(System.err);
+
+		Recording recording = new Recording();
+		recording.enable(PinnedEvent).withThreshold(java.time.Duration.ZERO).withStackTrace();
+		recording.start();
+
+		AtomicInteger failures = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		long startTime = System.nanoTime();
+		for (int i = 0; i < threads; i++) {
+			int task = i;
+			executor.execute(() -> {
+				try {
+					start.await();
+					AutoCloseable property = LogContext.pushProperty("Task", task);
+					try {
+						Log.information("Processed {OrderId} for {CustomerId} in {Elapsed} ms", task,
+								"customers/" + (task % 100), 12.5);
+					} finally {
+						property.close();
+					}
+				} catch (Exception e) {
+					failures.incrementAndGet();
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - startTime;
+
+		recording.stop();
+		Path recordingFile = directory.resolve("pinned.jfr");
+		recording.dump(recordingFile);
+		recording.close();
+		Log.closeAndFlush();
+
+		long lines = Files.lines(file.toPath()).count();
+		System.out.printf("%,d virtual threads logged in %,d ms, %,d lines written, %,d failed%n", threads,
+				TimeUnit.NANOSECONDS.toMillis(elapsed), lines, failures.get());
+
+		Map<String, Integer> pinned = new TreeMap<String, Integer>();
+		int pinnedInSerilogj = 0;
+		for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+			if (!event.getEventType().getName().equals(PinnedEvent)) {
+				continue;
+			}
+
+			String frame = serilogjFrame(event.getStackTrace());
+			if (frame != null) {
+				pinnedInSerilogj++;
+			}
+			pinned.merge(frame != null ? frame : "(outside serilogj)", 1, Integer::sum);
+		}
+		System.out.printf("%,d pinned events, %,d in serilogj%n", pinned.values().stream().mapToInt(n -> n).sum(),
+				pinnedInSerilogj);
+		pinned.forEach((frame, count) -> System.out.printf("%,8d  %s%n", count, frame));
+
+		deleteDirectory(directory);
+		if (pinnedInSerilogj > 0 || lines != threads || failures.get() > 0) {
+			System.exit(1);
+		}
+	}
+
+	private static String serilogjFrame(RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return null;
+		}
+
+		for (RecordedFrame frame : stackTrace.getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if (type.startsWith("serilogj.") && !type.startsWith("serilogj.benchmarks.")) {
+				return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+			}
+		}
+		return null;
+	}
+
+	private static void deleteDirectory(Path directory) throws IOException {
+		File[] files = directory.toFile().listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		Files.delete(directory);
+	}
+}
@@ -1,8 +1,12 @@
 package serilogj;
 
 import serilogj.core.ILogEventEnricher;
+import serilogj.events.BooleanScalarValue;
+import serilogj.events.DoubleScalarValue;
+import serilogj.events.IntScalarValue;
 import serilogj.events.LogEvent;
 import serilogj.events.LogEventLevel;
+import serilogj.events.LongScalarValue;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -109,6 +113,24 @@ public interface ILogger {
 	 */
 	boolean isEnabled(LogEventLevel level);
 
+	/**
+	 * Start an event whose property values are added one at a time, so that
+	 * any number of primitive values can be passed without boxing them.
+	 * 
+	 * @param level
+	 *            The level of the event.
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @return A builder to add the values to and write the event with; a
+	 *         shared one that does nothing if the level is disabled.
+	 *         <example> log.event(LogEventLevel.Information, "Flushed {Count}
+	 *         pages in {Elapsed} ms").add(pageCount).add(elapsed).write();
+	 *         </example>
+	 */
+	default LogEventBuilder event(LogEventLevel level, String messageTemplate) {
+		return isEnabled(level) ? new LogEventBuilder(this, level, messageTemplate) : LogEventBuilder.Disabled;
+	}
+
 	/**
 	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level and
 	 * associated exception.
@@ -276,4 +298,441 @@ public interface ILogger {
 	 *            <example> Log.Fatal(ex, "Process terminating."); </example>
 	 */
 	void fatal(Throwable exception, String messageTemplate, Object... propertyValues);
+
+	// The overloads below take a single primitive property value and pass it
+	// along as an unboxed ScalarValue. char and float have their own overloads
+	// only so they don't silently widen to int and double. The Object overloads
+	// are picked for boxed arguments before unboxing is considered, so a null
+	// Integer is logged as null rather than unboxed into the int overload.
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void verbose(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Verbose)) {
+			verbose(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void verbose(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Verbose)) {
+			verbose(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void verbose(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Verbose)) {
+			verbose(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void verbose(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Verbose)) {
+			verbose(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void verbose(String messageTemplate, Object propertyValue) {
+		verbose(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void verbose(String messageTemplate, char propertyValue) {
+		verbose(messageTemplate, (Object) propertyValue);
+	}
+
+	default void verbose(String messageTemplate, float propertyValue) {
+		verbose(messageTemplate, (Object) propertyValue);
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Debug"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void debug(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Debug)) {
+			debug(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Debug"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void debug(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Debug)) {
+			debug(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Debug"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void debug(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Debug)) {
+			debug(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Debug"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void debug(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Debug)) {
+			debug(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void debug(String messageTemplate, Object propertyValue) {
+		debug(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void debug(String messageTemplate, char propertyValue) {
+		debug(messageTemplate, (Object) propertyValue);
+	}
+
+	default void debug(String messageTemplate, float propertyValue) {
+		debug(messageTemplate, (Object) propertyValue);
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Information"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void information(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Information)) {
+			information(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Information"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void information(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Information)) {
+			information(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Information"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void information(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Information)) {
+			information(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Information"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void information(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Information)) {
+			information(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void information(String messageTemplate, Object propertyValue) {
+		information(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void information(String messageTemplate, char propertyValue) {
+		information(messageTemplate, (Object) propertyValue);
+	}
+
+	default void information(String messageTemplate, float propertyValue) {
+		information(messageTemplate, (Object) propertyValue);
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Warning"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void warning(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Warning)) {
+			warning(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Warning"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void warning(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Warning)) {
+			warning(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Warning"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void warning(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Warning)) {
+			warning(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Warning"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void warning(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Warning)) {
+			warning(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void warning(String messageTemplate, Object propertyValue) {
+		warning(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void warning(String messageTemplate, char propertyValue) {
+		warning(messageTemplate, (Object) propertyValue);
+	}
+
+	default void warning(String messageTemplate, float propertyValue) {
+		warning(messageTemplate, (Object) propertyValue);
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Error"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void error(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Error)) {
+			error(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Error"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void error(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Error)) {
+			error(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Error"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void error(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Error)) {
+			error(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Error"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void error(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Error)) {
+			error(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void error(String messageTemplate, Object propertyValue) {
+		error(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void error(String messageTemplate, char propertyValue) {
+		error(messageTemplate, (Object) propertyValue);
+	}
+
+	default void error(String messageTemplate, float propertyValue) {
+		error(messageTemplate, (Object) propertyValue);
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Fatal"/> level and a
+	 * single int property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void fatal(String messageTemplate, int propertyValue) {
+		if (isEnabled(LogEventLevel.Fatal)) {
+			fatal(messageTemplate, new IntScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Fatal"/> level and a
+	 * single long property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void fatal(String messageTemplate, long propertyValue) {
+		if (isEnabled(LogEventLevel.Fatal)) {
+			fatal(messageTemplate, new LongScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Fatal"/> level and a
+	 * single double property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void fatal(String messageTemplate, double propertyValue) {
+		if (isEnabled(LogEventLevel.Fatal)) {
+			fatal(messageTemplate, new DoubleScalarValue(propertyValue));
+		}
+	}
+
+	/**
+	 * Write a log event with the <see cref="LogEventLevel.Fatal"/> level and a
+	 * single boolean property value, without boxing it.
+	 * 
+	 * @param messageTemplate
+	 *            Message template describing the event.
+	 * @param propertyValue
+	 *            Value formatted into the message template.
+	 */
+	default void fatal(String messageTemplate, boolean propertyValue) {
+		if (isEnabled(LogEventLevel.Fatal)) {
+			fatal(messageTemplate, BooleanScalarValue.of(propertyValue));
+		}
+	}
+
+	default void fatal(String messageTemplate, Object propertyValue) {
+		fatal(messageTemplate, new Object[] { propertyValue });
+	}
+
+	default void fatal(String messageTemplate, char propertyValue) {
+		fatal(messageTemplate, (Object) propertyValue);
+	}
+
+	default void fatal(String messageTemplate, float propertyValue) {
+		fatal(messageTemplate, (Object) propertyValue);
+	}
 }
@@ -1,6 +1,7 @@
 package serilogj;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import serilogj.core.ILogEventEnricher;
 import serilogj.core.pipeline.SilentLogger;
@@ -38,31 +39,30 @@ import serilogj.events.LogEventLevel;
  * 
  */
 public class Log {
-	private static ILogger _logger = new SilentLogger();
+	private static final AtomicReference<ILogger> _logger = new AtomicReference<ILogger>(new SilentLogger());
 
 	/**
 	 * The globally-shared logger.
 	 * 
 	 * @exception ArgumentNullException
 	 */
-	public synchronized static ILogger getLogger() {
-		return _logger;
+	public static ILogger getLogger() {
+		return _logger.get();
 	}
 
-	public synchronized static void setLogger(ILogger value) {
+	public static void setLogger(ILogger value) {
 		if (value == null) {
 			throw new IllegalArgumentException("value");
 		}
-		_logger = value;
+		_logger.set(value);
 	}
 
 	/**
 	 * Resets <see cref="Logger"/> to the default and disposes the original if
 	 * possible
 	 */
-	public synchronized static void closeAndFlush() {
-		ILogger logger = _logger;
-		_logger = new SilentLogger();
+	public static void closeAndFlush() {
+		ILogger logger = _logger.getAndSet(new SilentLogger());
 
 		if (logger instanceof java.io.Closeable) {
 			try {
@@ -162,6 +162,15 @@ public class Log {
 		return getLogger().isEnabled(level);
 	}
 
+	/**
+	 * Start an event whose property values are added one at a time, so that
+	 * any number of primitive values can be passed without boxing them; see
+	 * <see cref="ILogger.event"/>.
+	 */
+	public static LogEventBuilder event(LogEventLevel level, String messageTemplate) {
+		return getLogger().event(level, messageTemplate);
+	}
+
 	/**
 	 * Write a log event with the <see cref="LogEventLevel.Verbose"/> level.
 	 * 
@@ -347,4 +356,173 @@ public class Log {
 	public static void fatal(Throwable exception, String messageTemplate, Object... propertyValues) {
 		getLogger().fatal(exception, messageTemplate, propertyValues);
 	}
+
+	// Primitive overloads, see ILogger
+	public static void verbose(String messageTemplate, int propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, long propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, double propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, boolean propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, Object propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, char propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void verbose(String messageTemplate, float propertyValue) {
+		getLogger().verbose(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, int propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, long propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, double propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, boolean propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, Object propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, char propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void debug(String messageTemplate, float propertyValue) {
+		getLogger().debug(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, int propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, long propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, double propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, boolean propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, Object propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, char propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void information(String messageTemplate, float propertyValue) {
+		getLogger().information(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, int propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, long propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, double propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, boolean propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, Object propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, char propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void warning(String messageTemplate, float propertyValue) {
+		getLogger().warning(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, int propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, long propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, double propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, boolean propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, Object propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, char propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void error(String messageTemplate, float propertyValue) {
+		getLogger().error(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, int propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, long propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, double propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, boolean propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, Object propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, char propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
+
+	public static void fatal(String messageTemplate, float propertyValue) {
+		getLogger().fatal(messageTemplate, propertyValue);
+	}
 }
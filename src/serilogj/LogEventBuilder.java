@@ -0,0 +1,101 @@
+package serilogj;
+
+import java.util.Arrays;
+
+import serilogj.events.BooleanScalarValue;
+import serilogj.events.DoubleScalarValue;
+import serilogj.events.IntScalarValue;
+import serilogj.events.LogEventLevel;
+import serilogj.events.LongScalarValue;
+
+/**
+ * Collects the property values of an event one at a time, so that any number
+ * of int, long, double and boolean values can be passed without boxing them.
+ * Obtain one from <see cref="ILogger.event"/>, add the values in the order of
+ * the message template, and call <see cref="write"/>:
+ *
+ * <pre>
+ * logger.event(LogEventLevel.Information, "Flushed {Count} pages in {Elapsed} ms")
+ * 		.add(pageCount).add(elapsed).write();
+ * </pre>
+ *
+ * When the level is disabled a shared instance is returned that ignores its
+ * values, so nothing is allocated. A builder must not be shared between
+ * threads, nor written more than once.
+ */
+public final class LogEventBuilder {
+	static final LogEventBuilder Disabled = new LogEventBuilder(null, null, null);
+
+	private final ILogger logger;
+	private final LogEventLevel level;
+	private final String messageTemplate;
+	private Throwable exception;
+	private Object[] propertyValues = new Object[4];
+	private int count;
+
+	LogEventBuilder(ILogger logger, LogEventLevel level, String messageTemplate) {
+		this.logger = logger;
+		this.level = level;
+		this.messageTemplate = messageTemplate;
+	}
+
+	public LogEventBuilder add(int propertyValue) {
+		return logger == null ? this : append(new IntScalarValue(propertyValue));
+	}
+
+	public LogEventBuilder add(long propertyValue) {
+		return logger == null ? this : append(new LongScalarValue(propertyValue));
+	}
+
+	public LogEventBuilder add(double propertyValue) {
+		return logger == null ? this : append(new DoubleScalarValue(propertyValue));
+	}
+
+	public LogEventBuilder add(boolean propertyValue) {
+		return logger == null ? this : append(BooleanScalarValue.of(propertyValue));
+	}
+
+	// As with the single-value overloads of ILogger, char and float keep their
+	// usual rendering rather than widening to int and double
+	public LogEventBuilder add(char propertyValue) {
+		return add((Object) propertyValue);
+	}
+
+	public LogEventBuilder add(float propertyValue) {
+		return add((Object) propertyValue);
+	}
+
+	public LogEventBuilder add(Object propertyValue) {
+		return logger == null ? this : append(propertyValue);
+	}
+
+	/**
+	 * Attach <paramref name="exception"/> to the event.
+	 */
+	public LogEventBuilder exception(Throwable exception) {
+		if (logger != null) {
+			this.exception = exception;
+		}
+		return this;
+	}
+
+	/**
+	 * Write the event with the values added so far.
+	 */
+	public void write() {
+		if (logger == null) {
+			return;
+		}
+
+		Object[] values = count == propertyValues.length ? propertyValues : Arrays.copyOf(propertyValues, count);
+		logger.write(level, exception, messageTemplate, values);
+	}
+
+	private LogEventBuilder append(Object propertyValue) {
+		if (count == propertyValues.length) {
+			propertyValues = Arrays.copyOf(propertyValues, count * 2);
+		}
+		propertyValues[count++] = propertyValue;
+		return this;
+	}
+}
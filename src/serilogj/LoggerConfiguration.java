@@ -3,6 +3,7 @@ package serilogj;
 import serilogj.core.*;
 import serilogj.events.*;
 import serilogj.parameters.*;
+import serilogj.core.clocks.SystemClock;
 import serilogj.core.sinks.*;
 import java.util.*;
 
@@ -29,10 +30,16 @@ public class LoggerConfiguration {
 	private final ArrayList<ILogEventFilter> filters = new ArrayList<ILogEventFilter>();
 	private final ArrayList<Class<?>> additionalScalarTypes = new ArrayList<Class<?>>();
 	private final ArrayList<IDestructuringPolicy> additionalDestructuringPolicies = new ArrayList<IDestructuringPolicy>();
+	private final ArrayList<QueuedSink> queuedSinks = new ArrayList<QueuedSink>();
 
 	private LogEventLevel minimumLevel = LogEventLevel.Information;
 	private LoggingLevelSwitch levelSwitch;
 	private int maximumDestructuringDepth = 10;
+	private boolean streamingDestructuring;
+	private boolean freezeEvents;
+	private IClock clock = SystemClock.Instance;
+	private int parallelSinkQueueCapacity;
+	private QueueFullMode parallelSinkQueueFullMode;
 	private boolean loggerCreated;
 
 	public LoggerConfiguration with(ILogEventEnricher enricher) {
@@ -86,6 +93,29 @@ public class LoggerConfiguration {
 		return writeTo(sink);
 	}
 
+	/**
+	 * Emit to <paramref name="sink"/> on its own worker thread, through a queue
+	 * holding up to <paramref name="queueCapacity"/> events, so that it delays
+	 * neither the logging thread nor other sinks. The capacity and
+	 * <paramref name="queueFullMode"/> apply to this sink only, and take
+	 * precedence over <see cref="setParallelSinks"/>.
+	 */
+	public LoggerConfiguration writeTo(ILogEventSink sink, int queueCapacity, QueueFullMode queueFullMode) {
+		if (sink == null) {
+			throw new IllegalArgumentException("sink");
+		}
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("queueCapacity");
+		}
+		if (queueFullMode == null) {
+			throw new IllegalArgumentException("queueFullMode");
+		}
+
+		// The worker thread is only started by createLogger
+		queuedSinks.add(new QueuedSink(sink, queueCapacity, queueFullMode));
+		return this;
+	}
+
 	public LoggerConfiguration asScalar(Class<?> type) {
 		if (type == null) {
 			throw new IllegalArgumentException("type");
@@ -100,6 +130,66 @@ public class LoggerConfiguration {
 		return this;
 	}
 
+	/**
+	 * When enabled, objects, collections and maps destructured with the @
+	 * operator are captured as flat <see cref="DestructuredValue"/> snapshots
+	 * that formatters write out directly, instead of as trees of
+	 * <see cref="StructureValue"/>, <see cref="SequenceValue"/> and
+	 * <see cref="DictionaryValue"/>. This allocates far less for large
+	 * payloads; sinks and filters that inspect those tree types need to handle
+	 * <see cref="DestructuredValue"/> as well.
+	 */
+	public LoggerConfiguration setStreamingDestructuring(boolean streamingDestructuring) {
+		this.streamingDestructuring = streamingDestructuring;
+		return this;
+	}
+
+	/**
+	 * When enabled, events are made read-only after enrichment, so sinks that
+	 * hold on to them or process them on other threads can share a single
+	 * instance. Sinks that need to change an event should use
+	 * <see cref="LogEvent.mutableCopy"/>.
+	 */
+	public LoggerConfiguration setFreezeEvents(boolean freezeEvents) {
+		this.freezeEvents = freezeEvents;
+		return this;
+	}
+
+	/**
+	 * Sets the clock that timestamps events. Defaults to
+	 * <see cref="SystemClock"/>; a <see cref="serilogj.core.clocks.CoarseClock"/>
+	 * is cheaper to read when millisecond accuracy isn't needed.
+	 */
+	public LoggerConfiguration setClock(IClock clock) {
+		if (clock == null) {
+			throw new IllegalArgumentException("clock");
+		}
+		this.clock = clock;
+		return this;
+	}
+
+	/**
+	 * Emit to each sink on its own worker thread, through a queue holding up
+	 * to <paramref name="queueCapacity"/> events, so that slow sinks delay
+	 * neither the logging thread nor each other. Events are frozen before they
+	 * are queued. Sinks added with a queue of their own keep it.
+	 * 
+	 * @param queueFullMode
+	 *            What to do with an event that arrives while a sink's queue is
+	 *            full.
+	 */
+	public LoggerConfiguration setParallelSinks(int queueCapacity, QueueFullMode queueFullMode) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("queueCapacity");
+		}
+		if (queueFullMode == null) {
+			throw new IllegalArgumentException("queueFullMode");
+		}
+		this.parallelSinkQueueCapacity = queueCapacity;
+		this.parallelSinkQueueFullMode = queueFullMode;
+		return this;
+	}
+
 	public LoggerConfiguration setMinimumLevel(LogEventLevel minimumLevel) {
 		this.minimumLevel = minimumLevel;
 		return this;
@@ -118,7 +208,17 @@ public class LoggerConfiguration {
 		}
 		loggerCreated = true;
 
-		SafeAggregateSink sink = new SafeAggregateSink(logEventSinks);
+		ArrayList<ILogEventSink> sinks = new ArrayList<ILogEventSink>(logEventSinks);
+		for (QueuedSink queued : queuedSinks) {
+			sinks.add(new BackgroundSink(queued.sink, queued.queueCapacity, queued.queueFullMode));
+		}
+
+		ILogEventSink sink;
+		if (parallelSinkQueueFullMode != null) {
+			sink = new ParallelAggregateSink(sinks, parallelSinkQueueCapacity, parallelSinkQueueFullMode);
+		} else {
+			sink = new SafeAggregateSink(sinks);
+		}
 
 		if (filters.size() > 0) {
 			sink = new SafeAggregateSink(new FilteringSink[] { new FilteringSink(sink, filters) });
@@ -126,9 +226,22 @@ public class LoggerConfiguration {
 
 		PropertyValueConverter converter = new PropertyValueConverter(maximumDestructuringDepth,
 				additionalScalarTypes.toArray(new Class<?>[0]),
-				additionalDestructuringPolicies.toArray(new IDestructuringPolicy[0]));
+				additionalDestructuringPolicies.toArray(new IDestructuringPolicy[0]), streamingDestructuring);
 		MessageTemplateProcessor processor = new MessageTemplateProcessor(converter);
 
-		return new Logger(processor, minimumLevel, sink, enrichers.toArray(new ILogEventEnricher[0]), levelSwitch, true);
+		return new Logger(processor, minimumLevel, sink, enrichers.toArray(new ILogEventEnricher[0]), levelSwitch, true,
+				freezeEvents, clock);
+	}
+
+	private static final class QueuedSink {
+		private final ILogEventSink sink;
+		private final int queueCapacity;
+		private final QueueFullMode queueFullMode;
+
+		private QueuedSink(ILogEventSink sink, int queueCapacity, QueueFullMode queueFullMode) {
+			this.sink = sink;
+			this.queueCapacity = queueCapacity;
+			this.queueFullMode = queueFullMode;
+		}
 	}
 }
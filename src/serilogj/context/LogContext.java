@@ -1,22 +1,70 @@
 package serilogj.context;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import serilogj.core.ILogEventEnricher;
+import serilogj.core.ILogEventPropertyFactory;
 import serilogj.core.enrichers.PropertyEnricher;
+import serilogj.events.LogEventProperty;
 
+/**
+ * Holds ambient properties that are added to every event logged on the
+ * current thread while they are in scope.
+ *
+ * The properties are kept as an immutable linked stack, so pushing allocates
+ * a single frame and popping restores its parent, whatever the depth. The
+ * first time a frame is read, it memoizes the enrichers and the converted
+ * properties of the whole stack below it, which means enriching later events
+ * does not allocate, and a property value is converted once per push rather
+ * than once per event.
+ * Values are therefore captured when they are first logged; pushing a mutable
+ * object and changing it afterwards will not be reflected in later events.
+ */
 public class LogContext {
-	private static class LogContextItem implements AutoCloseable {
-		private PropertyEnricher enricher;
+	private static final ILogEventEnricher[] NoEnrichers = new ILogEventEnricher[0];
+	private static final LogEventProperty[] NoProperties = new LogEventProperty[0];
 
-		private LogContextItem(String name, Object value, boolean destructureObjects) {
-			enricher = new PropertyEnricher(name, value, destructureObjects);
+	static final class Frame implements AutoCloseable {
+		private final PropertyEnricher enricher;
+		private final Frame parent;
+		// The frame handed out by pushProperty; differs from this frame only
+		// when the stack was rebuilt after an out of order close
+		private final Frame origin;
+		private volatile ILogEventEnricher[] enrichers;
+		private volatile ConvertedProperties converted;
+
+		private Frame(PropertyEnricher enricher, Frame parent, Frame origin) {
+			this.enricher = enricher;
+			this.parent = parent;
+			this.origin = origin == null ? this : origin;
 		}
 
-		private PropertyEnricher getEnricher() {
-			return enricher;
+		private ILogEventEnricher[] getEnrichers() {
+			ILogEventEnricher[] current = enrichers;
+			if (current == null) {
+				// Racing threads may both build it; either result is fine to keep
+				current = withEnricher(parent == null ? NoEnrichers : parent.getEnrichers(), enricher);
+				enrichers = current;
+			}
+			return current;
+		}
+
+		private LogEventProperty[] getProperties(ILogEventPropertyFactory propertyFactory) {
+			ConvertedProperties current = converted;
+			if (current != null && current.propertyFactory == propertyFactory) {
+				return current.properties;
+			}
+
+			// Racing threads may both convert; either result is fine to keep
+			LogEventProperty[] inherited = parent == null ? NoProperties : parent.getProperties(propertyFactory);
+			LogEventProperty property = propertyFactory.createProperty(enricher.getName(), enricher.getValue(),
+					enricher.getDestructureObjects());
+			LogEventProperty[] properties = withProperty(inherited, property);
+			converted = new ConvertedProperties(propertyFactory, properties);
+			return properties;
 		}
 
 		@Override
@@ -25,35 +73,254 @@ public class LogContext {
 		}
 	}
 
-	private static ThreadLocal<ArrayList<LogContextItem>> properties = new ThreadLocal<ArrayList<LogContextItem>>() {
-		protected ArrayList<LogContextItem> initialValue() {
-			return new ArrayList<LogContextItem>();
-		};
-	};
+	private static final class ConvertedProperties {
+		private final ILogEventPropertyFactory propertyFactory;
+		private final LogEventProperty[] properties;
+
+		private ConvertedProperties(ILogEventPropertyFactory propertyFactory, LogEventProperty[] properties) {
+			this.propertyFactory = propertyFactory;
+			this.properties = properties;
+		}
+	}
+
+	private static ThreadLocal<Frame> current = new ThreadLocal<Frame>();
 
 	public static AutoCloseable pushProperty(String name, Object value, boolean destructureObjects) {
-		LogContextItem item = new LogContextItem(name, value, destructureObjects);
-		properties.get().add(item);
-		return item;
+		Frame frame = new Frame(new PropertyEnricher(name, value, destructureObjects), current.get(), null);
+		current.set(frame);
+		return frame;
 	}
 
 	public static AutoCloseable pushProperty(String name, Object value) {
 		return pushProperty(name, value, false);
 	}
 
-	private static void popProperty(LogContextItem item) {
-		properties.get().remove(item);
+	/**
+	 * Run <paramref name="action"/> with <paramref name="properties"/> added
+	 * to the context, in the iteration order of the map. Unlike
+	 * <see cref="pushProperty"/> the binding is strictly scoped: whatever the
+	 * action pushes and forgets to close is discarded when it returns, the way
+	 * a scoped value would behave.
+	 */
+	public static void runWith(Map<String, ?> properties, Runnable action) {
+		if (action == null) {
+			throw new IllegalArgumentException("action");
+		}
+
+		Frame previous = swap(bind(properties));
+		try {
+			action.run();
+		} finally {
+			swap(previous);
+		}
+	}
+
+	/**
+	 * Call <paramref name="action"/> with <paramref name="properties"/> added
+	 * to the context; see <see cref="runWith"/>.
+	 */
+	public static <T> T callWith(Map<String, ?> properties, Callable<T> action) throws Exception {
+		if (action == null) {
+			throw new IllegalArgumentException("action");
+		}
+
+		Frame previous = swap(bind(properties));
+		try {
+			return action.call();
+		} finally {
+			swap(previous);
+		}
+	}
+
+	private static Frame bind(Map<String, ?> properties) {
+		if (properties == null) {
+			throw new IllegalArgumentException("properties");
+		}
+
+		Frame frame = current.get();
+		for (Map.Entry<String, ?> property : properties.entrySet()) {
+			frame = new Frame(new PropertyEnricher(property.getKey(), property.getValue(), false), frame, null);
+		}
+		return frame;
+	}
+
+	private static void popProperty(Frame frame) {
+		Frame top = current.get();
+		if (top != null && top.origin == frame) {
+			setCurrent(top.parent);
+			return;
+		}
+
+		// Closed out of order; rebuild the frames above it. This is rare, so
+		// the cost of losing their memoized state doesn't matter.
+		setCurrent(without(top, frame));
+	}
+
+	private static Frame without(Frame top, Frame frame) {
+		if (top == null) {
+			return null;
+		}
+		if (top.origin == frame) {
+			return top.parent;
+		}
+
+		Frame parent = without(top.parent, frame);
+		return parent == top.parent ? top : new Frame(top.enricher, parent, top.origin);
+	}
+
+	private static void setCurrent(Frame frame) {
+		if (frame == null) {
+			current.remove();
+		} else {
+			current.set(frame);
+		}
+	}
+
+	/**
+	 * Capture the properties currently in scope, so they can be restored on
+	 * another thread with <see cref="LogContextSnapshot.restore"/>. The stack
+	 * is immutable, so this only copies a reference.
+	 */
+	public static LogContextSnapshot capture() {
+		Frame frame = current.get();
+		return frame == null ? LogContextSnapshot.Empty : new LogContextSnapshot(frame);
+	}
+
+	/**
+	 * Wrap <paramref name="runnable"/> so that it runs with the properties
+	 * that are in scope now, whichever thread it ends up running on.
+	 */
+	public static Runnable wrap(Runnable runnable) {
+		if (runnable == null) {
+			throw new IllegalArgumentException("runnable");
+		}
+
+		LogContextSnapshot snapshot = capture();
+		return () -> {
+			LogContextSnapshot.Scope scope = snapshot.restore();
+			try {
+				runnable.run();
+			} finally {
+				scope.close();
+			}
+		};
+	}
+
+	/**
+	 * Wrap <paramref name="callable"/> so that it runs with the properties
+	 * that are in scope now, whichever thread it ends up running on.
+	 */
+	public static <T> Callable<T> wrap(Callable<T> callable) {
+		if (callable == null) {
+			throw new IllegalArgumentException("callable");
+		}
+
+		LogContextSnapshot snapshot = capture();
+		return () -> {
+			LogContextSnapshot.Scope scope = snapshot.restore();
+			try {
+				return callable.call();
+			} finally {
+				scope.close();
+			}
+		};
+	}
+
+	/**
+	 * Wrap <paramref name="supplier"/> so that it runs with the properties
+	 * that are in scope now; useful with <see cref="CompletableFuture"/>. Named
+	 * apart from <see cref="wrap"/> so lambdas don't resolve ambiguously
+	 * between this and the <see cref="Callable"/> overload.
+	 */
+	public static <T> Supplier<T> wrapSupplier(Supplier<T> supplier) {
+		if (supplier == null) {
+			throw new IllegalArgumentException("supplier");
+		}
+
+		LogContextSnapshot snapshot = capture();
+		return () -> {
+			LogContextSnapshot.Scope scope = snapshot.restore();
+			try {
+				return supplier.get();
+			} finally {
+				scope.close();
+			}
+		};
 	}
 
+	/**
+	 * Wrap <paramref name="executor"/> so that every task it runs sees the
+	 * properties that were in scope when the task was submitted. Pass the
+	 * result to <see cref="CompletableFuture.supplyAsync"/> and friends to
+	 * carry the context across asynchronous stages.
+	 */
+	public static Executor wrap(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("executor");
+		}
+		return command -> executor.execute(wrap(command));
+	}
+
+	static Frame swap(Frame frame) {
+		Frame previous = current.get();
+		if (previous != frame) {
+			setCurrent(frame);
+		}
+		return previous;
+	}
+
+	/**
+	 * The enrichers for the properties currently in scope, one per property
+	 * name with the innermost value winning. The returned array is shared and
+	 * must not be modified.
+	 */
 	public static ILogEventEnricher[] getEnrichers() {
-		Map<String, ILogEventEnricher> enrichers = new HashMap<String, ILogEventEnricher>();
-		for (int i = properties.get().size() - 1; i >= 0; i--) {
-			PropertyEnricher enricher = properties.get().get(i).getEnricher();
-			if (enrichers.containsKey(enricher.getName())) {
-				continue;
+		Frame frame = current.get();
+		return frame == null ? NoEnrichers : frame.getEnrichers();
+	}
+
+	/**
+	 * The properties currently in scope, converted with
+	 * <paramref name="propertyFactory"/>, one per property name with the
+	 * innermost value winning. The returned array is shared and must not be
+	 * modified.
+	 */
+	public static LogEventProperty[] getProperties(ILogEventPropertyFactory propertyFactory) {
+		if (propertyFactory == null) {
+			throw new IllegalArgumentException("propertyFactory");
+		}
+
+		Frame frame = current.get();
+		return frame == null ? NoProperties : frame.getProperties(propertyFactory);
+	}
+
+	private static ILogEventEnricher[] withEnricher(ILogEventEnricher[] enrichers, PropertyEnricher enricher) {
+		for (int i = 0; i < enrichers.length; i++) {
+			if (((PropertyEnricher) enrichers[i]).getName().equals(enricher.getName())) {
+				ILogEventEnricher[] result = enrichers.clone();
+				result[i] = enricher;
+				return result;
 			}
-			enrichers.put(enricher.getName(), enricher);
 		}
-		return enrichers.values().toArray(new ILogEventEnricher[0]);
+
+		ILogEventEnricher[] result = new ILogEventEnricher[enrichers.length + 1];
+		System.arraycopy(enrichers, 0, result, 0, enrichers.length);
+		result[enrichers.length] = enricher;
+		return result;
+	}
+
+	private static LogEventProperty[] withProperty(LogEventProperty[] properties, LogEventProperty property) {
+		for (int i = 0; i < properties.length; i++) {
+			if (properties[i].getName().equals(property.getName())) {
+				LogEventProperty[] result = properties.clone();
+				result[i] = property;
+				return result;
+			}
+		}
+
+		LogEventProperty[] result = new LogEventProperty[properties.length + 1];
+		System.arraycopy(properties, 0, result, 0, properties.length);
+		result[properties.length] = property;
+		return result;
 	}
 }
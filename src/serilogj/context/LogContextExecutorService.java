@@ -0,0 +1,115 @@
+package serilogj.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decorates an <see cref="ExecutorService"/> so that every task runs with the
+ * <see cref="LogContext"/> properties that were in scope when it was
+ * submitted.
+ */
+public class LogContextExecutorService implements ExecutorService {
+	private final ExecutorService inner;
+
+	public LogContextExecutorService(ExecutorService inner) {
+		if (inner == null) {
+			throw new IllegalArgumentException("inner");
+		}
+		this.inner = inner;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		inner.execute(LogContext.wrap(command));
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		return inner.submit(LogContext.wrap(task));
+	}
+
+	@Override
+	public <T> Future<T> submit(Runnable task, T result) {
+		return inner.submit(LogContext.wrap(task), result);
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		return inner.submit(LogContext.wrap(task));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+		return inner.invokeAll(wrap(tasks));
+	}
+
+	@Override
+	public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException {
+		return inner.invokeAll(wrap(tasks), timeout, unit);
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+		return inner.invokeAny(wrap(tasks));
+	}
+
+	@Override
+	public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		return inner.invokeAny(wrap(tasks), timeout, unit);
+	}
+
+	@Override
+	public void shutdown() {
+		inner.shutdown();
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		return inner.shutdownNow();
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return inner.isShutdown();
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return inner.isTerminated();
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		return inner.awaitTermination(timeout, unit);
+	}
+
+	private static <T> List<Callable<T>> wrap(Collection<? extends Callable<T>> tasks) {
+		if (tasks == null) {
+			throw new IllegalArgumentException("tasks");
+		}
+
+		// One snapshot serves the whole batch
+		LogContextSnapshot snapshot = LogContext.capture();
+		ArrayList<Callable<T>> result = new ArrayList<Callable<T>>(tasks.size());
+		for (Callable<T> task : tasks) {
+			result.add(() -> {
+				LogContextSnapshot.Scope scope = snapshot.restore();
+				try {
+					return task.call();
+				} finally {
+					scope.close();
+				}
+			});
+		}
+		return result;
+	}
+}
@@ -0,0 +1,45 @@
+package serilogj.context;
+
+/**
+ * An immutable snapshot of the properties in scope on the thread that called
+ * <see cref="LogContext.capture"/>. A snapshot can be restored any number of
+ * times, on any thread, and restoring it is O(1).
+ */
+public final class LogContextSnapshot {
+	static final LogContextSnapshot Empty = new LogContextSnapshot(null);
+
+	private final LogContext.Frame frame;
+
+	LogContextSnapshot(LogContext.Frame frame) {
+		this.frame = frame;
+	}
+
+	/**
+	 * Make the captured properties the current ones on this thread, replacing
+	 * whatever was in scope. Closing the returned scope puts the previous
+	 * properties back, so it should be used with try-with-resources.
+	 */
+	public Scope restore() {
+		return new Scope(LogContext.swap(frame));
+	}
+
+	/**
+	 * Returns true if no properties were in scope when the snapshot was taken.
+	 */
+	public boolean isEmpty() {
+		return frame == null;
+	}
+
+	public static final class Scope implements AutoCloseable {
+		private final LogContext.Frame previous;
+
+		private Scope(LogContext.Frame previous) {
+			this.previous = previous;
+		}
+
+		@Override
+		public void close() {
+			LogContext.swap(previous);
+		}
+	}
+}
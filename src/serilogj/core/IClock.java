@@ -0,0 +1,14 @@
+package serilogj.core;
+
+/**
+ * Supplies the timestamps of new log events.
+ */
+public interface IClock {
+	/**
+	 * The current time.
+	 * 
+	 * @return Nanoseconds since the epoch, 1970-01-01T00:00:00Z. The actual
+	 *         resolution depends on the clock.
+	 */
+	long nowEpochNanos();
+}
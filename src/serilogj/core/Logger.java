@@ -1,14 +1,16 @@
 package serilogj.core;
 
 import java.io.Closeable;
-import java.util.Date;
 import java.io.IOException;
 
 import serilogj.ILogger;
+import serilogj.core.clocks.SystemClock;
 import serilogj.core.enrichers.FixedPropertyEnricher;
 import serilogj.debugging.SelfLog;
 import serilogj.events.LogEvent;
 import serilogj.events.LogEventLevel;
+import serilogj.metrics.Histogram;
+import serilogj.metrics.Metrics;
 import serilogj.parameters.MessageTemplateProcessor;
 import serilogj.parameters.MessageTemplateProcessorResult;
 
@@ -27,10 +29,15 @@ import serilogj.parameters.MessageTemplateProcessorResult;
 // limitations under the License.
 
 public class Logger implements ILogger, ILogEventSink, Closeable {
+	private static final Histogram CaptureTime = Metrics.histogram("pipeline.capture");
+	private static final Histogram EnrichTime = Metrics.histogram("pipeline.enrich");
+
 	private final MessageTemplateProcessor messageTemplateProcessor;
 	private final ILogEventSink sink;
 	private final ILogEventEnricher[] enrichers;
 	private final Boolean closeSink;
+	private final boolean freezeEvents;
+	private final IClock clock;
 
 	// It's important that checking minimum level is a very
 	// quick (CPU-cacheable) read in the simple case, hence
@@ -42,12 +49,42 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 
 	public Logger(MessageTemplateProcessor messageTemplateProcessor, LogEventLevel minimumLevel, ILogEventSink sink,
 			ILogEventEnricher[] enrichers, LoggingLevelSwitch levelSwitch, Boolean closeSink) {
+		this(messageTemplateProcessor, minimumLevel, sink, enrichers, levelSwitch, closeSink, false);
+	}
+
+	/**
+	 * Create a logger.
+	 * 
+	 * @param freezeEvents
+	 *            If true, events are frozen once all enrichers have run, so the
+	 *            sinks can share them safely across threads. Only the root
+	 *            logger should do this; loggers created by forContext pass their
+	 *            events on to a parent that still has to enrich them.
+	 */
+	public Logger(MessageTemplateProcessor messageTemplateProcessor, LogEventLevel minimumLevel, ILogEventSink sink,
+			ILogEventEnricher[] enrichers, LoggingLevelSwitch levelSwitch, Boolean closeSink, boolean freezeEvents) {
+		this(messageTemplateProcessor, minimumLevel, sink, enrichers, levelSwitch, closeSink, freezeEvents,
+				SystemClock.Instance);
+	}
+
+	/**
+	 * Create a logger.
+	 * 
+	 * @param clock
+	 *            Supplies the timestamps of the events this logger creates.
+	 */
+	public Logger(MessageTemplateProcessor messageTemplateProcessor, LogEventLevel minimumLevel, ILogEventSink sink,
+			ILogEventEnricher[] enrichers, LoggingLevelSwitch levelSwitch, Boolean closeSink, boolean freezeEvents,
+			IClock clock) {
 		if (sink == null) {
 			throw new IllegalArgumentException("sink");
 		}
 		if (enrichers == null) {
 			throw new IllegalArgumentException("enrichers");
 		}
+		if (clock == null) {
+			throw new IllegalArgumentException("clock");
+		}
 
 		this.messageTemplateProcessor = messageTemplateProcessor;
 		this.minimumLevel = minimumLevel;
@@ -55,6 +92,8 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 		this.levelSwitch = levelSwitch;
 		this.enrichers = enrichers;
 		this.closeSink = closeSink;
+		this.freezeEvents = freezeEvents;
+		this.clock = clock;
 	}
 
 	@Override
@@ -68,7 +107,7 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 	@Override
 	public ILogger forContext(ILogEventEnricher[] enrichers) {
 		return new Logger(messageTemplateProcessor, minimumLevel, this,
-				enrichers != null ? enrichers : new ILogEventEnricher[0], levelSwitch, false);
+				enrichers != null ? enrichers : new ILogEventEnricher[0], levelSwitch, false, false, clock);
 	}
 
 	@Override
@@ -108,6 +147,13 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 	}
 
 	private void dispatch(LogEvent logEvent) {
+		// Events written directly may already have been frozen by another
+		// logger; enrich a copy rather than failing on every enricher.
+		if (enrichers.length > 0 && logEvent.isFrozen()) {
+			logEvent = logEvent.mutableCopy();
+		}
+
+		long start = Metrics.isEnabled() ? System.nanoTime() : 0;
 		for (ILogEventEnricher enricher : enrichers) {
 			try {
 				enricher.enrich(logEvent, messageTemplateProcessor);
@@ -115,7 +161,13 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 				SelfLog.writeLine("Exception %s caught while enriching %s with %s.", ex, logEvent, enricher);
 			}
 		}
+		if (start != 0) {
+			EnrichTime.record(System.nanoTime() - start);
+		}
 
+		if (freezeEvents) {
+			logEvent.freeze();
+		}
 		sink.emit(logEvent);
 	}
 	
@@ -155,9 +207,13 @@ public class Logger implements ILogger, ILogEventSink, Closeable {
 			propertyValues = (Object[]) propertyValues[0];
 		}
 
-		Date now = new Date();
+		long start = Metrics.isEnabled() ? System.nanoTime() : 0;
+		long now = clock.nowEpochNanos();
 		MessageTemplateProcessorResult result = messageTemplateProcessor.process(messageTemplate, propertyValues);
-		LogEvent event = new LogEvent(now, level, exception, result.template, result.properties);
+		LogEvent event = new LogEvent(now, level, exception, result.template, result.properties, null);
+		if (start != 0) {
+			CaptureTime.record(System.nanoTime() - start);
+		}
 		dispatch(event);
 	}
 
@@ -0,0 +1,46 @@
+package serilogj.core.clocks;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import serilogj.core.IClock;
+
+/**
+ * A clock that is read from a cached value, refreshed by a background thread
+ * at a fixed resolution. Reading it costs a single volatile read, at the price
+ * of timestamps that may be up to one resolution period behind.
+ */
+public class CoarseClock implements IClock, Closeable {
+	private final ScheduledExecutorService timer;
+	private volatile long now;
+
+	public CoarseClock(Duration resolution) {
+		if (resolution == null || resolution.isNegative() || resolution.isZero()) {
+			throw new IllegalArgumentException("resolution");
+		}
+
+		now = SystemClock.Instance.nowEpochNanos();
+		timer = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "serilogj-coarse-clock");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		long period = resolution.toNanos();
+		timer.scheduleAtFixedRate(() -> now = SystemClock.Instance.nowEpochNanos(), period, period,
+				TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public long nowEpochNanos() {
+		return now;
+	}
+
+	@Override
+	public void close() {
+		timer.shutdownNow();
+	}
+}
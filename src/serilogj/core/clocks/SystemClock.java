@@ -0,0 +1,20 @@
+package serilogj.core.clocks;
+
+import java.time.Instant;
+
+import serilogj.core.IClock;
+
+/**
+ * Reads the system clock on every call. The resolution is whatever
+ * <see cref="Instant.now"/> provides: milliseconds on Java 8, typically
+ * microseconds on later versions.
+ */
+public class SystemClock implements IClock {
+	public static final SystemClock Instance = new SystemClock();
+
+	@Override
+	public long nowEpochNanos() {
+		Instant now = Instant.now();
+		return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+	}
+}
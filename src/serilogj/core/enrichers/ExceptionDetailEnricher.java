@@ -0,0 +1,52 @@
+package serilogj.core.enrichers;
+
+import serilogj.core.ILogEventEnricher;
+import serilogj.core.ILogEventPropertyFactory;
+import serilogj.events.ExceptionValue;
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventProperty;
+
+/**
+ * Captures the exception of each event as an <see cref="ExceptionValue"/>
+ * property named <see cref="ExceptionValue.PropertyName"/>. The formatters
+ * write this bounded form instead of the full stack trace, and
+ * <see cref="JsonFormatter"/> also writes it as structured JSON, as a
+ * top-level ExceptionDetail field next to Exception rather than under
+ * Properties.
+ */
+public class ExceptionDetailEnricher implements ILogEventEnricher {
+	private int maximumFrames;
+	private int maximumCauseDepth;
+	private int maximumMessageLength;
+
+	public ExceptionDetailEnricher() {
+		this(ExceptionValue.DefaultMaximumFrames, ExceptionValue.DefaultMaximumCauseDepth,
+				ExceptionValue.DefaultMaximumMessageLength);
+	}
+
+	public ExceptionDetailEnricher(int maximumFrames, int maximumCauseDepth, int maximumMessageLength) {
+		if (maximumFrames < 0) {
+			throw new IllegalArgumentException("maximumFrames");
+		}
+		if (maximumCauseDepth < 0) {
+			throw new IllegalArgumentException("maximumCauseDepth");
+		}
+		if (maximumMessageLength < 0) {
+			throw new IllegalArgumentException("maximumMessageLength");
+		}
+
+		this.maximumFrames = maximumFrames;
+		this.maximumCauseDepth = maximumCauseDepth;
+		this.maximumMessageLength = maximumMessageLength;
+	}
+
+	@Override
+	public void enrich(LogEvent logEvent, ILogEventPropertyFactory propertyFactory) {
+		if (logEvent.getException() == null) {
+			return;
+		}
+
+		logEvent.addPropertyIfAbsent(new LogEventProperty(ExceptionValue.PropertyName, ExceptionValue
+				.capture(logEvent.getException(), maximumFrames, maximumCauseDepth, maximumMessageLength)));
+	}
+}
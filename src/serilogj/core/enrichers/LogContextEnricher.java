@@ -4,12 +4,13 @@ import serilogj.context.LogContext;
 import serilogj.core.ILogEventEnricher;
 import serilogj.core.ILogEventPropertyFactory;
 import serilogj.events.LogEvent;
+import serilogj.events.LogEventProperty;
 
 public class LogContextEnricher implements ILogEventEnricher {
 	@Override
 	public void enrich(LogEvent logEvent, ILogEventPropertyFactory propertyFactory) {
-		for(ILogEventEnricher enricher : LogContext.getEnrichers()) {
-			enricher.enrich(logEvent, propertyFactory);
+		for (LogEventProperty property : LogContext.getProperties(propertyFactory)) {
+			logEvent.addPropertyIfAbsent(property);
 		}
 	}
 }
@@ -79,4 +79,8 @@ public class PropertyEnricher implements ILogEventEnricher {
 	public Object getValue() {
 		return value;
 	}
+
+	public boolean getDestructureObjects() {
+		return destructureObjects;
+	}
 }
@@ -1,8 +1,10 @@
 package serilogj.core.pipeline;
 
-import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import serilogj.core.*;
+import serilogj.debugging.jfr.PipelineEvents;
 import serilogj.events.*;
+import serilogj.metrics.*;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -18,8 +20,11 @@ import serilogj.events.*;
 // See the License for the specific language governing permissions and
 // limitations under the License.
 public class MessageTemplateCache implements IMessageTemplateParser {
+	private static final Counter HitCount = Metrics.counter("templatecache.hits");
+	private static final Counter MissCount = Metrics.counter("templatecache.misses");
+
 	private IMessageTemplateParser innerParser;
-	private Map<String, MessageTemplate> templates = new HashMap<String, MessageTemplate>();
+	private ConcurrentHashMap<String, MessageTemplate> templates = new ConcurrentHashMap<String, MessageTemplate>();
 
 	private static final int MaxCacheItems = 1000;
 	private static final int MaxCachedTemplateLength = 1024;
@@ -40,37 +45,42 @@ public class MessageTemplateCache implements IMessageTemplateParser {
 			return innerParser.parse(messageTemplate);
 		}
 
-		MessageTemplate result = null;
-		synchronized (templates) {
-			if (templates.containsKey(messageTemplate)) {
-				result = templates.get(messageTemplate);
-				return result;
+		MessageTemplate result = templates.get(messageTemplate);
+		if (result != null) {
+			if (Metrics.isEnabled()) {
+				HitCount.increment();
 			}
+			return result;
+		}
+		if (Metrics.isEnabled()) {
+			MissCount.increment();
 		}
 
+		// Parsed outside any lock; if two threads race, both results are
+		// equivalent and the last one stored wins
+		Object missEvent = PipelineEvents.beginTemplateParse();
 		result = innerParser.parse(messageTemplate);
+		PipelineEvents.endTemplateParse(missEvent, messageTemplate);
 
-		synchronized (templates) {
-			// Exceeding MaxCacheItems is *not* the sunny day scenario; all
-			// we're doing here is preventing out-of-memory
-			// conditions when the library is used incorrectly. Correct use
-			// (templates, rather than
-			// direct message strings) should barely, if ever, overflow this
-			// cache.
+		// Exceeding MaxCacheItems is *not* the sunny day scenario; all
+		// we're doing here is preventing out-of-memory
+		// conditions when the library is used incorrectly. Correct use
+		// (templates, rather than
+		// direct message strings) should barely, if ever, overflow this
+		// cache.
 
-			// Changing workloads through the lifecycle of an app instance mean
-			// we can gain some ground by
-			// potentially dropping templates generated only in startup, or only
-			// during specific infrequent
-			// activities.
+		// Changing workloads through the lifecycle of an app instance mean
+		// we can gain some ground by
+		// potentially dropping templates generated only in startup, or only
+		// during specific infrequent
+		// activities.
 
-			if (templates.size() == MaxCacheItems) {
-				templates.clear();
-			}
-
-			templates.put(messageTemplate, result);
+		if (templates.size() >= MaxCacheItems) {
+			templates.clear();
 		}
 
+		templates.put(messageTemplate, result);
+
 		return result;
 	}
 }
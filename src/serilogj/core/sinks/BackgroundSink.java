@@ -0,0 +1,235 @@
+package serilogj.core.sinks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import serilogj.core.ILogEventSink;
+import serilogj.debugging.SelfLog;
+import serilogj.events.LogEvent;
+import serilogj.metrics.Counter;
+import serilogj.metrics.Metrics;
+
+/**
+ * Emits events to a wrapped sink on a dedicated worker thread, so that the
+ * caller only pays for an enqueue. The queue is bounded; what happens when it
+ * fills up is decided by a <see cref="QueueFullMode"/>.
+ *
+ * Events are shared with the caller's thread, so they are frozen before they
+ * are queued. A wrapped sink that needs to change an event should work on
+ * <see cref="LogEvent.mutableCopy"/>.
+ */
+public class BackgroundSink implements ILogEventSink, Closeable {
+	private static final AtomicInteger WorkerCount = new AtomicInteger();
+	private static final long PollMillis = 100;
+	private static final Counter DroppedTotal = Metrics.counter("sink.dropped");
+
+	private static final class Entry {
+		private final LogEvent logEvent;
+		private final long enqueuedNanos;
+
+		private Entry(LogEvent logEvent, long enqueuedNanos) {
+			this.logEvent = logEvent;
+			this.enqueuedNanos = enqueuedNanos;
+		}
+	}
+
+	private final ILogEventSink sink;
+	private final ArrayBlockingQueue<Entry> queue;
+	private final QueueFullMode queueFullMode;
+	private final Thread worker;
+	// Callers between the closed check and the end of their enqueue; close()
+	// waits for them, so nothing is queued after the worker has stopped
+	private final AtomicInteger admitting = new AtomicInteger();
+	private volatile boolean closed;
+	private volatile boolean stopping;
+
+	private final AtomicLong droppedCount = new AtomicLong();
+	private volatile long emittedCount;
+	private volatile long lastLagNanos;
+	private volatile long maximumLagNanos;
+
+	public BackgroundSink(ILogEventSink sink, int queueCapacity, QueueFullMode queueFullMode) {
+		if (sink == null) {
+			throw new IllegalArgumentException("sink");
+		}
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("queueCapacity");
+		}
+		if (queueFullMode == null) {
+			throw new IllegalArgumentException("queueFullMode");
+		}
+
+		this.sink = sink;
+		this.queue = new ArrayBlockingQueue<Entry>(queueCapacity);
+		this.queueFullMode = queueFullMode;
+
+		worker = new Thread(this::run, "serilogj-sink-" + WorkerCount.incrementAndGet());
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@Override
+	public void emit(LogEvent logEvent) {
+		if (logEvent == null) {
+			throw new IllegalArgumentException("logEvent");
+		}
+
+		admitting.incrementAndGet();
+		try {
+			if (closed) {
+				dropped();
+				return;
+			}
+			enqueue(new Entry(logEvent.freeze(), System.nanoTime()));
+		} finally {
+			admitting.decrementAndGet();
+		}
+	}
+
+	private void enqueue(Entry entry) {
+		if (queue.offer(entry)) {
+			return;
+		}
+
+		switch (queueFullMode) {
+		case DropNewest:
+			dropped();
+			break;
+		case DropOldest:
+			while (!queue.offer(entry)) {
+				if (queue.poll() != null) {
+					dropped();
+				}
+			}
+			break;
+		case Block:
+			try {
+				queue.put(entry);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				dropped();
+			}
+			break;
+		}
+	}
+
+	private void dropped() {
+		droppedCount.incrementAndGet();
+		DroppedTotal.increment();
+	}
+
+	private void run() {
+		while (true) {
+			Entry entry;
+			try {
+				entry = queue.poll(PollMillis, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				// Only close() may stop the worker, and it waits for the drain
+				continue;
+			}
+
+			if (entry == null) {
+				if (stopping) {
+					return;
+				}
+				continue;
+			}
+
+			try {
+				sink.emit(entry.logEvent);
+			} catch (RuntimeException ex) {
+				SelfLog.writeLine("Caught exception %s while emitting to sink %s.", ex.getMessage(), sink);
+			}
+
+			long lag = System.nanoTime() - entry.enqueuedNanos;
+			lastLagNanos = lag;
+			if (lag > maximumLagNanos) {
+				maximumLagNanos = lag;
+			}
+			// Only the worker writes these, so the increment can't race
+			emittedCount = emittedCount + 1;
+		}
+	}
+
+	/**
+	 * The sink that events are emitted to.
+	 */
+	public ILogEventSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * The number of events waiting to be emitted.
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * The number of events discarded because the queue was full, or because
+	 * they arrived after the sink was closed.
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+
+	/**
+	 * The number of events handed to the wrapped sink.
+	 */
+	public long getEmittedCount() {
+		return emittedCount;
+	}
+
+	/**
+	 * The time the most recently emitted event spent between being queued and
+	 * being emitted, in nanoseconds.
+	 */
+	public long getLagNanos() {
+		return lastLagNanos;
+	}
+
+	/**
+	 * The largest value <see cref="getLagNanos"/> has reached.
+	 */
+	public long getMaximumLagNanos() {
+		return maximumLagNanos;
+	}
+
+	/**
+	 * Stop accepting events, wait for the queued ones to be emitted, then close
+	 * the wrapped sink if it is closeable.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		// The worker keeps draining meanwhile, so blocked callers get through
+		while (admitting.get() != 0) {
+			LockSupport.parkNanos(PollMillis * 1000);
+		}
+		stopping = true;
+
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// Only left behind if the wait above was interrupted
+		while (queue.poll() != null) {
+			dropped();
+		}
+
+		if (sink instanceof Closeable) {
+			((Closeable) sink).close();
+		}
+	}
+}
@@ -3,6 +3,7 @@ package serilogj.core.sinks;
 import java.util.*;
 import serilogj.events.*;
 import serilogj.core.*;
+import serilogj.metrics.*;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -19,6 +20,9 @@ import serilogj.core.*;
 // limitations under the License.
 
 public class FilteringSink implements ILogEventSink {
+	private static final Histogram FilterTime = Metrics.histogram("pipeline.filter");
+	private static final Counter FilteredCount = Metrics.counter("pipeline.filtered");
+
 	private ILogEventSink sink;
 	private ArrayList<ILogEventFilter> filters;
 
@@ -35,11 +39,19 @@ public class FilteringSink implements ILogEventSink {
 	}
 
 	public final void emit(LogEvent logEvent) {
+		long start = Metrics.isEnabled() ? System.nanoTime() : 0;
 		for (ILogEventFilter logEventFilter : filters) {
 			if (!logEventFilter.isEnabled(logEvent)) {
+				if (start != 0) {
+					FilterTime.record(System.nanoTime() - start);
+					FilteredCount.increment();
+				}
 				return;
 			}
 		}
+		if (start != 0) {
+			FilterTime.record(System.nanoTime() - start);
+		}
 
 		sink.emit(logEvent);
 	}
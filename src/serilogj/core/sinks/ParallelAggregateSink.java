@@ -0,0 +1,68 @@
+package serilogj.core.sinks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import serilogj.core.ILogEventSink;
+import serilogj.debugging.SelfLog;
+import serilogj.events.LogEvent;
+
+/**
+ * Like <see cref="SafeAggregateSink"/>, but each child sink is fed through its
+ * own <see cref="BackgroundSink"/>, so a slow or blocked sink delays neither
+ * the caller nor the other sinks.
+ */
+public class ParallelAggregateSink implements ILogEventSink, Closeable {
+	private final BackgroundSink[] sinks;
+
+	public ParallelAggregateSink(ArrayList<ILogEventSink> sinks, int queueCapacity, QueueFullMode queueFullMode) {
+		if (sinks == null) {
+			throw new IllegalArgumentException("sinks");
+		}
+
+		this.sinks = new BackgroundSink[sinks.size()];
+		for (int i = 0; i < this.sinks.length; i++) {
+			// Sinks configured with their own queue keep it
+			ILogEventSink sink = sinks.get(i);
+			this.sinks[i] = sink instanceof BackgroundSink ? (BackgroundSink) sink
+					: new BackgroundSink(sink, queueCapacity, queueFullMode);
+		}
+	}
+
+	@Override
+	public void emit(LogEvent logEvent) {
+		if (logEvent == null) {
+			throw new IllegalArgumentException("logEvent");
+		}
+
+		// Freeze once up front rather than in each child
+		logEvent.freeze();
+		for (BackgroundSink sink : sinks) {
+			sink.emit(logEvent);
+		}
+	}
+
+	/**
+	 * The background sinks wrapping each child, for inspecting queue depth,
+	 * drops and lag.
+	 */
+	public List<BackgroundSink> getSinks() {
+		List<BackgroundSink> result = new ArrayList<BackgroundSink>(sinks.length);
+		Collections.addAll(result, sinks);
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		for (BackgroundSink sink : sinks) {
+			try {
+				sink.close();
+			} catch (IOException ex) {
+				SelfLog.writeLine("Caught exception %s while closing sink %s.", ex.getMessage(), sink.getSink());
+			}
+		}
+	}
+}
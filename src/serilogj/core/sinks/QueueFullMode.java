@@ -0,0 +1,23 @@
+package serilogj.core.sinks;
+
+/**
+ * What a <see cref="BackgroundSink"/> does with an event that arrives while
+ * its queue is full.
+ */
+public enum QueueFullMode {
+	/**
+	 * Discard the arriving event; the caller never waits.
+	 */
+	DropNewest,
+
+	/**
+	 * Discard the oldest queued event to make room; the caller never waits.
+	 */
+	DropOldest,
+
+	/**
+	 * Wait for the worker to make room. Nothing is lost, but a stalled sink
+	 * will stall its callers.
+	 */
+	Block
+}
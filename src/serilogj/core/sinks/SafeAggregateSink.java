@@ -6,6 +6,8 @@ import java.util.*;
 import serilogj.events.*;
 import serilogj.core.*;
 import serilogj.debugging.SelfLog;
+import serilogj.debugging.jfr.PipelineEvents;
+import serilogj.metrics.*;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -22,7 +24,12 @@ import serilogj.debugging.SelfLog;
 // limitations under the License.
 
 public class SafeAggregateSink implements ILogEventSink, Closeable {
+	private static final Counter SinkErrorCount = Metrics.counter("sink.errors");
+
 	private ArrayList<ILogEventSink> sinks;
+	private String[] sinkNames;
+	private Histogram[] emitTimes;
+	private boolean closed;
 
 	public SafeAggregateSink(ILogEventSink[] sinks) {
 		if (sinks == null) {
@@ -33,30 +40,64 @@ public class SafeAggregateSink implements ILogEventSink, Closeable {
 		for (ILogEventSink sink : sinks) {
 			this.sinks.add(sink);
 		}
+		initializeDiagnostics();
 	}
 
 	public SafeAggregateSink(ArrayList<ILogEventSink> sinks) {
 		if (sinks == null) {
 			throw new IllegalArgumentException("sinks");
 		}
-		this.sinks = sinks;
+		this.sinks = new ArrayList<ILogEventSink>(sinks);
+		initializeDiagnostics();
+	}
+
+	private void initializeDiagnostics() {
+		sinkNames = new String[sinks.size()];
+		emitTimes = new Histogram[sinks.size()];
+		for (int i = 0; i < sinkNames.length; i++) {
+			sinkNames[i] = Metrics.instanceNameOf(sinks.get(i));
+			emitTimes[i] = Metrics.histogram("sink." + sinkNames[i] + ".emit");
+		}
 	}
 
 	public final void emit(LogEvent logEvent) {
-		for (ILogEventSink sink : sinks) {
+		boolean measure = Metrics.isEnabled();
+		for (int i = 0; i < sinks.size(); i++) {
+			ILogEventSink sink = sinks.get(i);
+			long start = measure ? System.nanoTime() : 0;
+			Object emitEvent = PipelineEvents.beginSinkEmit();
 			try {
 				sink.emit(logEvent);
 			} catch (RuntimeException ex) {
+				SinkErrorCount.increment();
 				SelfLog.writeLine("Caught exception %s while emitting to sink %s.", ex.getMessage(), sink);
 			}
+			PipelineEvents.endSinkEmit(emitEvent, sinkNames[i]);
+			if (measure) {
+				emitTimes[i].record(System.nanoTime() - start);
+			}
 		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		for (ILogEventSink sink : sinks) {
-			if (sink instanceof java.io.Closeable) {
-				((java.io.Closeable) sink).close();
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+
+		try {
+			for (ILogEventSink sink : sinks) {
+				if (sink instanceof java.io.Closeable) {
+					((java.io.Closeable) sink).close();
+				}
+			}
+		} finally {
+			for (int i = 0; i < sinkNames.length; i++) {
+				Metrics.removeHistogram("sink." + sinkNames[i] + ".emit", emitTimes[i]);
+				Metrics.releaseInstanceName(sinks.get(i), sinkNames[i]);
 			}
 		}
 	}
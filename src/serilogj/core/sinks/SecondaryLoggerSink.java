@@ -1,6 +1,5 @@
 package serilogj.core.sinks;
 
-import java.util.*;
 import java.io.*;
 import serilogj.events.*;
 import serilogj.*;
@@ -38,12 +37,9 @@ public class SecondaryLoggerSink implements ILogEventSink, java.io.Closeable {
 			throw new IllegalArgumentException("logEvent");
 		}
 
-		ArrayList<LogEventProperty> properties = new ArrayList<LogEventProperty>();
-		logEvent.getProperties().forEach((k, v) -> properties.add(new LogEventProperty(k, v)));
-		LogEvent copy = new LogEvent(logEvent.getTimestamp(), logEvent.getLevel(), logEvent.getException(),
-				logEvent.getMessageTemplate(), null);
-
-		logger.write(copy);
+		// The secondary logger's enrichers must not affect the event seen by
+		// other sinks, so they get a copy-on-write view of it.
+		logger.write(logEvent.mutableCopy());
 	}
 
 	public void close() throws IOException {
@@ -2,6 +2,12 @@ package serilogj.debugging;
 
 import java.io.PrintStream;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -20,41 +26,231 @@ import java.util.Date;
 /**
  * A simple source of information generated by Serilog itself, for example when
  * exceptions are thrown and caught internally.
+ *
+ * Messages are queued and written by a daemon thread, so a slow or contended
+ * output never holds up the threads that report problems. The queue is
+ * bounded, and each format string may be written at most
+ * <see cref="MaxMessagesPerWindow"/> times a second; anything over that is
+ * counted and reported as a single "repeated" line once the window has
+ * passed. Call <see cref="flush"/> to wait for queued messages to be written.
+ * Messages are formatted before they are queued, so parameters are rendered as
+ * they were at the time of the call.
  */
 public class SelfLog {
-	private static PrintStream out;
+	private static final int QueueCapacity = 1024;
+	private static final int MaxMessagesPerWindow = 10;
+	private static final long WindowMillis = 1000;
+	private static final int MaxTrackedFormats = 1000;
+	private static final long IdleParkNanos = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long FlushTimeoutNanos = TimeUnit.SECONDS.toNanos(1);
+
+	private static final class Entry {
+		private final long timestamp;
+		private final String message;
+
+		private Entry(long timestamp, String message) {
+			this.timestamp = timestamp;
+			this.message = message;
+		}
+	}
+
+	private static final class Rate {
+		private final AtomicLong windowStart = new AtomicLong();
+		private final AtomicInteger count = new AtomicInteger();
+		private final AtomicLong suppressed = new AtomicLong();
+	}
+
+	private static volatile PrintStream out;
+
+	private static final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<Entry>();
+	private static final AtomicInteger queued = new AtomicInteger();
+	private static final AtomicLong enqueuedCount = new AtomicLong();
+	private static final AtomicLong droppedCount = new AtomicLong();
+	private static final ConcurrentHashMap<String, Rate> rates = new ConcurrentHashMap<String, Rate>();
+	private static volatile long writtenCount;
+	private static volatile Thread writer;
 
 	/**
 	 * The output mechanism for self-log events.
 	 * 
 	 * <example> SelfLog.Out = Console.Error; </example>
 	 */
-	public synchronized static PrintStream getOut() {
+	public static PrintStream getOut() {
 		return out;
 	}
 
-	public synchronized static void setOut(PrintStream value) {
+	public static void setOut(PrintStream value) {
 		out = value;
+		if (value != null) {
+			startWriter();
+		}
 	}
 
 	/**
-	 * Write a message to the self-log.
+	 * Write a message to the self-log. Does nothing unless an output has been
+	 * set with <see cref="setOut"/>.
 	 * 
 	 * @param format
-	 *            Standard .NET format string containing the message.
-	 * @param arg0
-	 *            First argument, if supplied.
-	 * @param arg1
-	 *            Second argument, if supplied.
-	 * @param arg2
-	 *            Third argument, if supplied.
+	 *            A <see cref="String.format"/> format string containing the
+	 *            message. If it is malformed, it is written as it is.
+	 * @param parameters
+	 *            The arguments referenced by the format string.
 	 */
-	public synchronized static void writeLine(String format, Object... parameters) {
-		PrintStream o = getOut();
-		if (o != null) {
-			o.printf(new Date() + format + "%n", parameters);
-			o.flush();
+	public static void writeLine(String format, Object... parameters) {
+		if (out == null || format == null) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		if (!admit(format, now)) {
+			return;
+		}
+		enqueue(new Entry(now, format(format, parameters)));
+	}
+
+	private static String format(String format, Object... parameters) {
+		try {
+			return String.format(format, parameters);
+		} catch (RuntimeException ex) {
+			// A bad format string, or a parameter whose toString() throws;
+			// reporting a problem must never cause another
+			return format;
+		}
+	}
+
+	/**
+	 * Wait, for up to a second, until the messages written so far have reached
+	 * the output.
+	 */
+	public static void flush() {
+		long target = enqueuedCount.get();
+		long deadline = System.nanoTime() + FlushTimeoutNanos;
+		while (writtenCount < target && writer != null && System.nanoTime() < deadline) {
+			LockSupport.unpark(writer);
+			Thread.yield();
+		}
+	}
+
+	private static boolean admit(String format, long now) {
+		Rate rate = rates.get(format);
+		if (rate == null) {
+			if (rates.size() >= MaxTrackedFormats) {
+				// Formats are nearly always constants; this only guards
+				// against callers building them dynamically
+				rates.clear();
+			}
+			rate = rates.computeIfAbsent(format, f -> new Rate());
+		}
+
+		Entry notice = rollWindow(format, rate, now);
+		if (notice != null) {
+			enqueue(notice);
+		}
+
+		if (rate.count.incrementAndGet() > MaxMessagesPerWindow) {
+			rate.suppressed.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	// Starts a new window for the format once the current one has passed, and
+	// returns a notice for whatever the previous window suppressed
+	private static Entry rollWindow(String format, Rate rate, long now) {
+		long windowStart = rate.windowStart.get();
+		if (now - windowStart < WindowMillis || !rate.windowStart.compareAndSet(windowStart, now)) {
+			return null;
+		}
+
+		long suppressed = rate.suppressed.getAndSet(0);
+		rate.count.set(0);
+		if (suppressed == 0) {
+			return null;
+		}
+		return new Entry(now, format("Previous message repeated %,d times: %s", suppressed, format.trim()));
+	}
+
+	private static void enqueue(Entry entry) {
+		if (queued.incrementAndGet() > QueueCapacity) {
+			queued.decrementAndGet();
+			droppedCount.incrementAndGet();
+			return;
+		}
+
+		queue.offer(entry);
+		enqueuedCount.incrementAndGet();
+		Thread w = writer;
+		if (w != null) {
+			LockSupport.unpark(w);
 		}
 	}
 
+	private static synchronized void startWriter() {
+		if (writer != null) {
+			return;
+		}
+
+		Thread w = new Thread(SelfLog::drain, "serilogj-selflog");
+		w.setDaemon(true);
+		writer = w;
+		w.start();
+		// Daemon threads keep running while shutdown hooks do, so the hook
+		// only has to wait for the writer
+		Runtime.getRuntime().addShutdownHook(new Thread(SelfLog::flush, "serilogj-selflog-shutdown"));
+	}
+
+	private static void drain() {
+		while (true) {
+			if (!writeQueued()) {
+				reportSuppressed();
+				LockSupport.parkNanos(IdleParkNanos);
+			}
+		}
+	}
+
+	// Suppression counts are normally reported by the next message with the
+	// same format; this covers formats that have gone quiet
+	private static void reportSuppressed() {
+		long now = System.currentTimeMillis();
+		rates.forEach((format, rate) -> {
+			if (rate.suppressed.get() == 0) {
+				return;
+			}
+
+			Entry notice = rollWindow(format, rate, now);
+			if (notice != null) {
+				enqueue(notice);
+			}
+		});
+	}
+
+	// Only called by the writer thread, so writes never overlap and
+	// writtenCount has a single writer
+	private static boolean writeQueued() {
+		boolean wroteAny = false;
+		Entry entry;
+		while ((entry = queue.poll()) != null) {
+			queued.decrementAndGet();
+			write(entry);
+			writtenCount = writtenCount + 1;
+			wroteAny = true;
+		}
+
+		long dropped = droppedCount.getAndSet(0);
+		if (dropped > 0) {
+			write(new Entry(System.currentTimeMillis(),
+					format("Self-log queue was full, %,d messages were dropped", dropped)));
+		}
+		return wroteAny;
+	}
+
+	private static void write(Entry entry) {
+		PrintStream o = out;
+		if (o == null) {
+			return;
+		}
+
+		o.print(new Date(entry.timestamp) + entry.message + System.lineSeparator());
+		o.flush();
+	}
 }
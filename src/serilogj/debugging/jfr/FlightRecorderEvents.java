@@ -0,0 +1,163 @@
+package serilogj.debugging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The recorder used on JVMs with Flight Recorder (JDK 11 and later). Only
+ * loaded reflectively by <see cref="PipelineEvents"/>, after checking that
+ * the <code>jdk.jfr</code> module is present.
+ */
+class FlightRecorderEvents extends Recorder {
+	private static final int MaxTemplateLength = 256;
+
+	@Name("serilogj.BatchEmit")
+	@Label("Batch Emit")
+	@Category({ "serilogj" })
+	static class BatchEmitEvent extends Event {
+		@Label("Sink")
+		String sink;
+
+		@Label("Event Count")
+		int eventCount;
+
+		@Label("Success")
+		boolean success;
+	}
+
+	@Name("serilogj.FileRoll")
+	@Label("File Roll")
+	@Category({ "serilogj" })
+	static class FileRollEvent extends Event {
+		@Label("Path")
+		String path;
+
+		@Label("Deleted Files")
+		int deletedFileCount;
+	}
+
+	@Name("serilogj.SeqPost")
+	@Label("Seq Post")
+	@Category({ "serilogj" })
+	static class SeqPostEvent extends Event {
+		@Label("URL")
+		String url;
+
+		@Label("Event Count")
+		int eventCount;
+
+		@Label("Payload Size")
+		@DataAmount
+		long bytes;
+
+		@Label("Status Code")
+		int statusCode;
+
+		@Label("Success")
+		boolean success;
+	}
+
+	@Name("serilogj.TemplateCacheMiss")
+	@Label("Template Cache Miss")
+	@Category({ "serilogj" })
+	static class TemplateCacheMissEvent extends Event {
+		@Label("Template")
+		String template;
+	}
+
+	@Name("serilogj.SlowSinkEmit")
+	@Label("Slow Sink Emit")
+	@Category({ "serilogj" })
+	@Threshold("20 ms")
+	static class SlowSinkEmitEvent extends Event {
+		@Label("Sink")
+		String sink;
+	}
+
+	private static final EventType BatchEmitType = EventType.getEventType(BatchEmitEvent.class);
+	private static final EventType FileRollType = EventType.getEventType(FileRollEvent.class);
+	private static final EventType SeqPostType = EventType.getEventType(SeqPostEvent.class);
+	private static final EventType TemplateCacheMissType = EventType.getEventType(TemplateCacheMissEvent.class);
+	private static final EventType SlowSinkEmitType = EventType.getEventType(SlowSinkEmitEvent.class);
+
+	@Override
+	Object beginBatch() {
+		return BatchEmitType.isEnabled() ? begin(new BatchEmitEvent()) : null;
+	}
+
+	@Override
+	void endBatch(Object token, String sink, int eventCount, boolean success) {
+		BatchEmitEvent event = (BatchEmitEvent) token;
+		event.sink = sink;
+		event.eventCount = eventCount;
+		event.success = success;
+		event.commit();
+	}
+
+	@Override
+	Object beginFileRoll() {
+		return FileRollType.isEnabled() ? begin(new FileRollEvent()) : null;
+	}
+
+	@Override
+	void endFileRoll(Object token, String path, int deletedFileCount) {
+		FileRollEvent event = (FileRollEvent) token;
+		event.path = path;
+		event.deletedFileCount = deletedFileCount;
+		event.commit();
+	}
+
+	@Override
+	Object beginSeqPost() {
+		return SeqPostType.isEnabled() ? begin(new SeqPostEvent()) : null;
+	}
+
+	@Override
+	void endSeqPost(Object token, String url, int eventCount, long bytes, int statusCode, boolean success) {
+		SeqPostEvent event = (SeqPostEvent) token;
+		event.url = url;
+		event.eventCount = eventCount;
+		event.bytes = bytes;
+		event.statusCode = statusCode;
+		event.success = success;
+		event.commit();
+	}
+
+	@Override
+	Object beginTemplateParse() {
+		return TemplateCacheMissType.isEnabled() ? begin(new TemplateCacheMissEvent()) : null;
+	}
+
+	@Override
+	void endTemplateParse(Object token, String template) {
+		TemplateCacheMissEvent event = (TemplateCacheMissEvent) token;
+		event.template = template.length() > MaxTemplateLength ? template.substring(0, MaxTemplateLength)
+				: template;
+		event.commit();
+	}
+
+	@Override
+	Object beginSinkEmit() {
+		return SlowSinkEmitType.isEnabled() ? begin(new SlowSinkEmitEvent()) : null;
+	}
+
+	@Override
+	void endSinkEmit(Object token, String sink) {
+		SlowSinkEmitEvent event = (SlowSinkEmitEvent) token;
+		event.end();
+		if (event.shouldCommit()) {
+			event.sink = sink;
+			event.commit();
+		}
+	}
+
+	private static Event begin(Event event) {
+		event.begin();
+		return event;
+	}
+}
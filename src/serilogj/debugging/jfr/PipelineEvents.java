@@ -0,0 +1,100 @@
+package serilogj.debugging.jfr;
+
+import serilogj.debugging.SelfLog;
+
+/**
+ * Reports pipeline activity to JDK Flight Recorder, so that time spent in
+ * logging can be correlated with GC and I/O in a single recording.
+ *
+ * Each activity is bracketed by a <code>begin</code> call, which returns a
+ * token, and an <code>end</code> call that takes it. When no recording has
+ * the event enabled, or when the JVM has no Flight Recorder (Java 8), the
+ * token is null and both calls return immediately.
+ *
+ * The event classes are only loaded once Flight Recorder is known to be
+ * present, so this class is safe to use on any supported JVM.
+ */
+public final class PipelineEvents {
+	private static final Recorder recorder = createRecorder();
+
+	private PipelineEvents() {
+	}
+
+	private static Recorder createRecorder() {
+		try {
+			Class.forName("jdk.jfr.Event");
+		} catch (ClassNotFoundException | LinkageError ex) {
+			return new Recorder();
+		}
+
+		try {
+			return (Recorder) Class.forName("serilogj.debugging.jfr.FlightRecorderEvents").getDeclaredConstructor()
+					.newInstance();
+		} catch (ReflectiveOperationException | LinkageError ex) {
+			SelfLog.writeLine("Flight Recorder events are unavailable: %s", ex);
+			return new Recorder();
+		}
+	}
+
+	/**
+	 * Returns true if events are reported to Flight Recorder on this JVM.
+	 */
+	public static boolean isAvailable() {
+		return recorder.getClass() != Recorder.class;
+	}
+
+	public static Object beginBatch() {
+		return recorder.beginBatch();
+	}
+
+	public static void endBatch(Object token, String sink, int eventCount, boolean success) {
+		if (token != null) {
+			recorder.endBatch(token, sink, eventCount, success);
+		}
+	}
+
+	public static Object beginFileRoll() {
+		return recorder.beginFileRoll();
+	}
+
+	public static void endFileRoll(Object token, String path, int deletedFileCount) {
+		if (token != null) {
+			recorder.endFileRoll(token, path, deletedFileCount);
+		}
+	}
+
+	public static Object beginSeqPost() {
+		return recorder.beginSeqPost();
+	}
+
+	public static void endSeqPost(Object token, String url, int eventCount, long bytes, int statusCode,
+			boolean success) {
+		if (token != null) {
+			recorder.endSeqPost(token, url, eventCount, bytes, statusCode, success);
+		}
+	}
+
+	public static Object beginTemplateParse() {
+		return recorder.beginTemplateParse();
+	}
+
+	public static void endTemplateParse(Object token, String template) {
+		if (token != null) {
+			recorder.endTemplateParse(token, template);
+		}
+	}
+
+	/**
+	 * Sink emits are only recorded when they take longer than the event's
+	 * threshold, 20 ms unless the recording settings say otherwise.
+	 */
+	public static Object beginSinkEmit() {
+		return recorder.beginSinkEmit();
+	}
+
+	public static void endSinkEmit(Object token, String sink) {
+		if (token != null) {
+			recorder.endSinkEmit(token, sink);
+		}
+	}
+}
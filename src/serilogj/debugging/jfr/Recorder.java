@@ -0,0 +1,41 @@
+package serilogj.debugging.jfr;
+
+/**
+ * The recorder used when Flight Recorder isn't available; records nothing.
+ */
+class Recorder {
+	Object beginBatch() {
+		return null;
+	}
+
+	void endBatch(Object token, String sink, int eventCount, boolean success) {
+	}
+
+	Object beginFileRoll() {
+		return null;
+	}
+
+	void endFileRoll(Object token, String path, int deletedFileCount) {
+	}
+
+	Object beginSeqPost() {
+		return null;
+	}
+
+	void endSeqPost(Object token, String url, int eventCount, long bytes, int statusCode, boolean success) {
+	}
+
+	Object beginTemplateParse() {
+		return null;
+	}
+
+	void endTemplateParse(Object token, String template) {
+	}
+
+	Object beginSinkEmit() {
+		return null;
+	}
+
+	void endSinkEmit(Object token, String sink) {
+	}
+}
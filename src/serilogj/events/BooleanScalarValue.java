@@ -0,0 +1,54 @@
+package serilogj.events;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import serilogj.formatting.NumericWriter;
+
+/**
+ * A <see cref="ScalarValue"/> holding a primitive boolean, so the value doesn't
+ * need to be boxed to be carried through the pipeline or rendered.
+ */
+public class BooleanScalarValue extends ScalarValue {
+	public static final BooleanScalarValue True = new BooleanScalarValue(true);
+	public static final BooleanScalarValue False = new BooleanScalarValue(false);
+
+	private final boolean value;
+
+	public static BooleanScalarValue of(boolean value) {
+		return value ? True : False;
+	}
+
+	public BooleanScalarValue(boolean value) {
+		super(null);
+		this.value = value;
+	}
+
+	public boolean getBooleanValue() {
+		return value;
+	}
+
+	@Override
+	public Object getValue() {
+		return Boolean.valueOf(value);
+	}
+
+	@Override
+	public void render(Writer output, String format, Locale locale) throws IOException {
+		NumericWriter.write(output, value);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof BooleanScalarValue) {
+			return value == ((BooleanScalarValue) obj).value;
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return Boolean.hashCode(value);
+	}
+}
@@ -0,0 +1,52 @@
+package serilogj.events;
+
+/**
+ * A property of a <see cref="LogEvent"/> whose value has been captured, but
+ * not yet converted into a <see cref="LogEventPropertyValue"/>. The conversion
+ * happens the first time the properties of the owning event are accessed, so
+ * events that are rejected before that point never pay for it.
+ *
+ * Pass <see cref="reserve"/> to the event in place of a converted property, so
+ * the value keeps its position among the properties once it is converted.
+ */
+public abstract class DeferredLogEventProperty {
+	private String name;
+
+	/**
+	 * Construct a <see cref="DeferredLogEventProperty"/> with the specified
+	 * name.
+	 *
+	 * @param name
+	 *            The name of the property.
+	 */
+	protected DeferredLogEventProperty(String name) {
+		if (!LogEventProperty.isValidName(name)) {
+			throw new IllegalArgumentException("Property name is not valid.");
+		}
+
+		this.name = name;
+	}
+
+	/**
+	 * The name of the property.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * A property that holds the place of this one among the properties of a
+	 * <see cref="LogEvent"/>, which converts it when they are first accessed.
+	 */
+	public final LogEventProperty reserve() {
+		return new LogEventProperty(name, new PendingPropertyValue(this));
+	}
+
+	/**
+	 * Convert the captured value. Called at most once per event, on whichever
+	 * thread first accesses the properties of the event.
+	 *
+	 * @return The converted value, never null.
+	 */
+	public abstract LogEventPropertyValue createValue();
+}
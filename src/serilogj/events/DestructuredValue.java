@@ -0,0 +1,154 @@
+package serilogj.events;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A destructured object, collection or map held as a flat snapshot rather
+ * than as a tree of <see cref="StructureValue"/>, <see cref="SequenceValue"/>
+ * and <see cref="DictionaryValue"/> instances. Created by
+ * <see cref="serilogj.parameters.PropertyValueConverter"/> when streaming
+ * destructuring is enabled; renders and serializes the same way as the
+ * equivalent tree.
+ *
+ * Each item is null, a <see cref="LogEventPropertyValue"/> (including nested
+ * destructured values), or a scalar captured as is, which is rendered as a
+ * <see cref="ScalarValue"/> holding it would be. Dictionary entries keep the
+ * iteration order of the map they were captured from, and unlike
+ * <see cref="DictionaryValue"/> aren't merged when their keys convert to
+ * equal values.
+ */
+public class DestructuredValue extends LogEventPropertyValue {
+	public enum Kind {
+		Structure, Sequence, Dictionary
+	}
+
+	private static final String[] NoNames = new String[0];
+
+	private final Kind kind;
+	private final String[] names;
+	private final Object[] items;
+	private final String typeTag;
+
+	private DestructuredValue(Kind kind, String[] names, Object[] items, String typeTag) {
+		if (items == null) {
+			throw new IllegalArgumentException("items");
+		}
+
+		this.kind = kind;
+		this.names = names;
+		this.items = items;
+		this.typeTag = typeTag;
+	}
+
+	/**
+	 * An object whose property <paramref name="names"/> match
+	 * <paramref name="items"/> one to one. The names array may be shared
+	 * between values of the same type.
+	 */
+	public static DestructuredValue structure(String[] names, Object[] items, String typeTag) {
+		if (names == null) {
+			throw new IllegalArgumentException("names");
+		}
+		if (items == null || items.length != names.length) {
+			throw new IllegalArgumentException("items");
+		}
+		return new DestructuredValue(Kind.Structure, names, items, typeTag);
+	}
+
+	public static DestructuredValue sequence(Object[] items) {
+		return new DestructuredValue(Kind.Sequence, NoNames, items, null);
+	}
+
+	/**
+	 * A map, with <paramref name="items"/> holding its keys and values in
+	 * turn.
+	 */
+	public static DestructuredValue dictionary(Object[] items) {
+		if (items == null || items.length % 2 != 0) {
+			throw new IllegalArgumentException("items");
+		}
+		return new DestructuredValue(Kind.Dictionary, NoNames, items, null);
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * The property names of a structure; empty for other kinds. The array is
+	 * shared and must not be modified.
+	 */
+	public String[] getNames() {
+		return names;
+	}
+
+	/**
+	 * The property values of a structure, the elements of a sequence, or the
+	 * keys and values of a dictionary in turn. The array is shared and must
+	 * not be modified.
+	 */
+	public Object[] getItems() {
+		return items;
+	}
+
+	public String getTypeTag() {
+		return typeTag;
+	}
+
+	@Override
+	public void render(Writer output, String format, Locale locale) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		switch (kind) {
+		case Structure:
+			if (typeTag != null) {
+				output.write(typeTag);
+				output.write(' ');
+			}
+
+			output.write("{ ");
+			for (int i = 0; i < items.length; i++) {
+				if (i > 0) {
+					output.write(", ");
+				}
+				output.write(names[i]);
+				output.write(": ");
+				renderItem(items[i], output, format, locale);
+			}
+			output.write(" }");
+			break;
+		case Sequence:
+			output.write('[');
+			for (int i = 0; i < items.length; i++) {
+				if (i > 0) {
+					output.write(", ");
+				}
+				renderItem(items[i], output, format, locale);
+			}
+			output.write(']');
+			break;
+		case Dictionary:
+			output.write('[');
+			for (int i = 0; i < items.length; i += 2) {
+				output.write(i > 0 ? ", (" : "(");
+				renderItem(items[i], output, null, locale);
+				output.write(": ");
+				renderItem(items[i + 1], output, null, locale);
+				output.write(")");
+			}
+			output.write(']');
+			break;
+		}
+	}
+
+	private static void renderItem(Object item, Writer output, String format, Locale locale) throws IOException {
+		if (item instanceof LogEventPropertyValue) {
+			((LogEventPropertyValue) item).render(output, format, locale);
+		} else {
+			ScalarValue.renderScalar(output, item, format, locale);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+package serilogj.events;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * An exception captured as data: its type, message, a bounded number of stack
+ * frames and a bounded chain of causes. Capturing only keeps references to
+ * the frames, so the cost of turning them into text is paid by the formatters
+ * that need it, and the size of that text is bounded regardless of how deep
+ * the original stack was.
+ *
+ * As with <see cref="Throwable.printStackTrace"/>, the frames a cause has in
+ * common with the exception it caused are folded into "... N more", along
+ * with any frames beyond the limit. Suppressed exceptions are not captured.
+ */
+public class ExceptionValue extends LogEventPropertyValue {
+	/**
+	 * The name of the property that holds the captured exception of an event.
+	 */
+	public static final String PropertyName = "ExceptionDetail";
+
+	public static final int DefaultMaximumFrames = 50;
+	public static final int DefaultMaximumCauseDepth = 5;
+	public static final int DefaultMaximumMessageLength = 1024;
+
+	// Only used to count the causes beyond the depth limit, which may refer
+	// back to each other
+	private static final int MaxCountedCauses = 64;
+	private static final StackTraceElement[] NoFrames = new StackTraceElement[0];
+
+	private String type;
+	private String message;
+	private StackTraceElement[] frames;
+	private int omittedFrames;
+	private ExceptionValue cause;
+	private int omittedCauses;
+
+	public ExceptionValue(String type, String message, StackTraceElement[] frames, int omittedFrames,
+			ExceptionValue cause, int omittedCauses) {
+		if (type == null) {
+			throw new IllegalArgumentException("type");
+		}
+		if (frames == null) {
+			throw new IllegalArgumentException("frames");
+		}
+
+		this.type = type;
+		this.message = message;
+		this.frames = frames;
+		this.omittedFrames = omittedFrames;
+		this.cause = cause;
+		this.omittedCauses = omittedCauses;
+	}
+
+	public static ExceptionValue capture(Throwable exception) {
+		return capture(exception, DefaultMaximumFrames, DefaultMaximumCauseDepth, DefaultMaximumMessageLength);
+	}
+
+	/**
+	 * Capture <paramref name="exception"/> and up to
+	 * <paramref name="maximumCauseDepth"/> of its causes, keeping at most
+	 * <paramref name="maximumFrames"/> frames and
+	 * <paramref name="maximumMessageLength"/> characters of message for each.
+	 */
+	public static ExceptionValue capture(Throwable exception, int maximumFrames, int maximumCauseDepth,
+			int maximumMessageLength) {
+		if (exception == null) {
+			throw new IllegalArgumentException("exception");
+		}
+		if (maximumFrames < 0) {
+			throw new IllegalArgumentException("maximumFrames");
+		}
+		if (maximumCauseDepth < 0) {
+			throw new IllegalArgumentException("maximumCauseDepth");
+		}
+		if (maximumMessageLength < 0) {
+			throw new IllegalArgumentException("maximumMessageLength");
+		}
+
+		return capture(exception, NoFrames, maximumFrames, maximumCauseDepth, maximumMessageLength);
+	}
+
+	private static ExceptionValue capture(Throwable exception, StackTraceElement[] enclosingFrames, int maximumFrames,
+			int causeDepth, int maximumMessageLength) {
+		StackTraceElement[] trace = exception.getStackTrace();
+
+		// Frames shared with the enclosing trace, counted from the bottom
+		int unique = trace.length - 1;
+		int enclosing = enclosingFrames.length - 1;
+		while (unique >= 0 && enclosing >= 0 && trace[unique].equals(enclosingFrames[enclosing])) {
+			unique--;
+			enclosing--;
+		}
+		int shown = Math.min(unique + 1, maximumFrames);
+		StackTraceElement[] frames = shown == trace.length ? trace : Arrays.copyOf(trace, shown);
+
+		ExceptionValue cause = null;
+		int omittedCauses = 0;
+		Throwable innerException = exception.getCause();
+		if (innerException != null) {
+			if (causeDepth > 0) {
+				cause = capture(innerException, trace, maximumFrames, causeDepth - 1, maximumMessageLength);
+			} else {
+				omittedCauses = countCauses(innerException);
+			}
+		}
+
+		String message = exception.getLocalizedMessage();
+		if (message != null && message.length() > maximumMessageLength) {
+			message = message.substring(0, maximumMessageLength) + "...";
+		}
+		return new ExceptionValue(exception.getClass().getName(), message, frames, trace.length - shown, cause,
+				omittedCauses);
+	}
+
+	private static int countCauses(Throwable exception) {
+		int count = 0;
+		for (Throwable current = exception; current != null && count < MaxCountedCauses; current = current
+				.getCause()) {
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * The class name of the exception.
+	 */
+	public String getType() {
+		return type;
+	}
+
+	/**
+	 * The (possibly truncated) message of the exception, or null.
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * The captured frames, innermost first. The array is shared and must not be
+	 * modified.
+	 */
+	public StackTraceElement[] getFrames() {
+		return frames;
+	}
+
+	/**
+	 * The number of frames that were not captured, either because the
+	 * exception it caused already shows them, or because of the limit.
+	 */
+	public int getOmittedFrames() {
+		return omittedFrames;
+	}
+
+	/**
+	 * The captured cause, or null.
+	 */
+	public ExceptionValue getCause() {
+		return cause;
+	}
+
+	/**
+	 * The number of causes beyond the depth limit.
+	 */
+	public int getOmittedCauses() {
+		return omittedCauses;
+	}
+
+	/**
+	 * Writes the exception the way <see cref="Throwable.printStackTrace"/>
+	 * does, within the limits it was captured with.
+	 */
+	@Override
+	public void render(Writer output, String format, Locale locale) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		String newLine = System.lineSeparator();
+		for (ExceptionValue current = this; current != null; current = current.cause) {
+			if (current != this) {
+				output.write("Caused by: ");
+			}
+			output.write(current.type);
+			if (current.message != null) {
+				output.write(": ");
+				output.write(current.message);
+			}
+			output.write(newLine);
+
+			for (StackTraceElement frame : current.frames) {
+				output.write("\tat ");
+				output.write(frame.toString());
+				output.write(newLine);
+			}
+			if (current.omittedFrames > 0) {
+				output.write("\t... ");
+				output.write(Integer.toString(current.omittedFrames));
+				output.write(" more");
+				output.write(newLine);
+			}
+			if (current.omittedCauses > 0) {
+				output.write("\t... ");
+				output.write(Integer.toString(current.omittedCauses));
+				output.write(current.omittedCauses == 1 ? " more cause" : " more causes");
+				output.write(newLine);
+			}
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		ExceptionValue ev = (ExceptionValue) ((obj instanceof ExceptionValue) ? obj : null);
+		return ev != null && type.equals(ev.type) && Objects.equals(message, ev.message)
+				&& Arrays.equals(frames, ev.frames) && omittedFrames == ev.omittedFrames
+				&& Objects.equals(cause, ev.cause) && omittedCauses == ev.omittedCauses;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, message, Arrays.hashCode(frames), cause);
+	}
+}
@@ -0,0 +1,52 @@
+package serilogj.events;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import serilogj.formatting.FormatCache;
+import serilogj.formatting.NumericWriter;
+
+/**
+ * A <see cref="ScalarValue"/> holding a primitive int, so the value doesn't
+ * need to be boxed to be carried through the pipeline or rendered.
+ */
+public class IntScalarValue extends ScalarValue {
+	private final int value;
+
+	public IntScalarValue(int value) {
+		super(null);
+		this.value = value;
+	}
+
+	public int getIntValue() {
+		return value;
+	}
+
+	@Override
+	public Object getValue() {
+		return Integer.valueOf(value);
+	}
+
+	@Override
+	public void render(Writer output, String format, Locale locale) throws IOException {
+		if (FormatCache.isNumberFormat(format)) {
+			renderNumber(output, value, format, locale);
+			return;
+		}
+		NumericWriter.write(output, value);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof IntScalarValue) {
+			return value == ((IntScalarValue) obj).value;
+		}
+		return super.equals(obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return Integer.hashCode(value);
+	}
+}
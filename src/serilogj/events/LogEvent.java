@@ -2,21 +2,68 @@ package serilogj.events;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 public class LogEvent {
-	private Map<String, LogEventPropertyValue> properties;
-	private Date timestamp;
+	// Leaves room for a few enriched properties before the storage has to grow
+	private static final int EnrichedPropertyAllowance = 4;
+	private static final long NanosPerMilli = 1_000_000L;
+	private static final long NanosPerSecond = 1_000_000_000L;
+	private static final long MillisPerSecond = 1_000L;
+
+	private LogEventPropertyMap properties;
+	// Set while properties hold a PendingPropertyValue
+	private volatile boolean pendingProperties;
+	private volatile Map<String, LogEventPropertyValue> frozenProperties;
+	private PropertiesView propertiesView;
+	private boolean sharedProperties;
+	// Kept apart so that dates outside the range of a long of nanoseconds
+	// (before 1677 or after 2262) are still represented exactly
+	private long timestampSeconds;
+	private int timestampNanoOfSecond;
 	private LogEventLevel level;
 	private Throwable exception;
 	private MessageTemplate messageTemplate;
 
 	public LogEvent(Date timestamp, LogEventLevel level, Throwable exception, MessageTemplate messageTemplate,
 			ArrayList<LogEventProperty> properties) {
+		this(timestamp, level, exception, messageTemplate, properties, null);
+	}
+
+	public LogEvent(Date timestamp, LogEventLevel level, Throwable exception, MessageTemplate messageTemplate,
+			ArrayList<LogEventProperty> properties, ArrayList<DeferredLogEventProperty> deferredProperties) {
+		this(epochSecond(timestamp), nanoOfSecond(timestamp), level, exception, messageTemplate, properties,
+				deferredProperties);
+	}
+
+	/**
+	 * Construct a new <see cref="LogEvent"/>.
+	 * 
+	 * @param timestampNanos
+	 *            The time at which the event occurred, in nanoseconds since the
+	 *            epoch.
+	 * @param deferredProperties
+	 *            Properties converted when the properties of the event are
+	 *            first accessed, added after the others. Pass
+	 *            <see cref="DeferredLogEventProperty.reserve"/> in
+	 *            <paramref name="properties"/> instead to give them a position.
+	 */
+	public LogEvent(long timestampNanos, LogEventLevel level, Throwable exception, MessageTemplate messageTemplate,
+			ArrayList<LogEventProperty> properties, ArrayList<DeferredLogEventProperty> deferredProperties) {
+		this(Math.floorDiv(timestampNanos, NanosPerSecond), (int) Math.floorMod(timestampNanos, NanosPerSecond), level,
+				exception, messageTemplate, properties, deferredProperties);
+	}
+
+	private LogEvent(long timestampSeconds, int timestampNanoOfSecond, LogEventLevel level, Throwable exception,
+			MessageTemplate messageTemplate, ArrayList<LogEventProperty> properties,
+			ArrayList<DeferredLogEventProperty> deferredProperties) {
 		if (messageTemplate == null) {
 			throw new IllegalArgumentException("messageTemplate");
 		}
@@ -24,22 +71,101 @@ public class LogEvent {
 			throw new IllegalArgumentException("properties");
 		}
 
-		this.timestamp = timestamp;
+		this.timestampSeconds = timestampSeconds;
+		this.timestampNanoOfSecond = timestampNanoOfSecond;
 		this.level = level;
 		this.exception = exception;
 		this.messageTemplate = messageTemplate;
-		this.properties = new HashMap<String, LogEventPropertyValue>();
+		int capacity = properties.size() + EnrichedPropertyAllowance;
+		if (deferredProperties != null) {
+			capacity += deferredProperties.size();
+		}
+		this.properties = new LogEventPropertyMap(capacity);
+		boolean pending = false;
 		for (LogEventProperty property : properties) {
-			addOrUpdateProperty(property);
+			this.properties.put(property.getName(), property.getValue());
+			pending |= property.getValue() instanceof PendingPropertyValue;
 		}
+		if (deferredProperties != null) {
+			for (DeferredLogEventProperty property : deferredProperties) {
+				this.properties.put(property.getName(), new PendingPropertyValue(property));
+				pending = true;
+			}
+		}
+		if (pending) {
+			pendingProperties = true;
+		}
+	}
+
+	private LogEvent(LogEvent source) {
+		this.timestampSeconds = source.timestampSeconds;
+		this.timestampNanoOfSecond = source.timestampNanoOfSecond;
+		this.level = source.level;
+		this.exception = source.exception;
+		this.messageTemplate = source.messageTemplate;
+		source.resolveDeferredProperties();
+		this.properties = source.properties;
+		this.sharedProperties = true;
 	}
 
+	/**
+	 * The properties of the event. Once the event is frozen, the returned map
+	 * is read-only. Changes made through the map only affect this event, even
+	 * when its storage is still shared with a <see cref="mutableCopy"/>; while
+	 * it is, entries can't be changed through <see cref="Map.entrySet"/>.
+	 */
 	public Map<String, LogEventPropertyValue> getProperties() {
-		return properties;
+		resolveDeferredProperties();
+		Map<String, LogEventPropertyValue> frozen = frozenProperties;
+		if (frozen != null) {
+			return frozen;
+		}
+		if (propertiesView == null) {
+			propertiesView = new PropertiesView();
+		}
+		return propertiesView;
 	}
 
+	/**
+	 * The time at which the event occurred, truncated to milliseconds. Prefer
+	 * <see cref="getTimestampSeconds"/> and
+	 * <see cref="getTimestampNanoOfSecond"/>, which neither allocate nor lose
+	 * precision.
+	 */
 	public Date getTimestamp() {
-		return timestamp;
+		return new Date(timestampSeconds * MillisPerSecond + timestampNanoOfSecond / NanosPerMilli);
+	}
+
+	/**
+	 * The time at which the event occurred, in nanoseconds since the epoch.
+	 * Timestamps before 1677 or after 2262 don't fit, and are clamped to
+	 * <see cref="Long.MIN_VALUE"/> or <see cref="Long.MAX_VALUE"/>.
+	 */
+	public long getTimestampNanos() {
+		if (timestampSeconds > Long.MAX_VALUE / NanosPerSecond || timestampSeconds < Long.MIN_VALUE / NanosPerSecond) {
+			return timestampSeconds < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+		}
+		long nanos = timestampSeconds * NanosPerSecond + timestampNanoOfSecond;
+		// Within a second of either end, adding the nanoseconds may still wrap
+		if (timestampSeconds > 0 && nanos < 0) {
+			return Long.MAX_VALUE;
+		}
+		return nanos;
+	}
+
+	/**
+	 * The whole seconds since the epoch at which the event occurred.
+	 */
+	public long getTimestampSeconds() {
+		return timestampSeconds;
+	}
+
+	/**
+	 * The nanoseconds past <see cref="getTimestampSeconds"/>, from 0 to
+	 * 999,999,999.
+	 */
+	public int getTimestampNanoOfSecond() {
+		return timestampNanoOfSecond;
 	}
 
 	public LogEventLevel getLevel() {
@@ -54,32 +180,164 @@ public class LogEvent {
 		return messageTemplate;
 	}
 
+	/**
+	 * Returns true once <see cref="freeze"/> has been called.
+	 */
+	public boolean isFrozen() {
+		return frozenProperties != null;
+	}
+
+	/**
+	 * Make the event read-only, so it can be shared between sinks (and their
+	 * worker threads) without copying. Any later attempt to change its
+	 * properties throws; sinks that need to change an event should work on
+	 * <see cref="mutableCopy"/> instead.
+	 * 
+	 * @return This event.
+	 */
+	public LogEvent freeze() {
+		if (frozenProperties == null) {
+			frozenProperties = Collections.unmodifiableMap(properties);
+		}
+		return this;
+	}
+
+	/**
+	 * Create a copy of this event that can be changed freely. The copy shares
+	 * the property storage of this event until it is first changed, so taking
+	 * a copy that is only read costs a single allocation.
+	 * 
+	 * @return A new, unfrozen event.
+	 */
+	public LogEvent mutableCopy() {
+		LogEvent copy = new LogEvent(this);
+		if (frozenProperties == null) {
+			// Both sides now copy before their first change
+			sharedProperties = true;
+		}
+		return copy;
+	}
+
 	public void addOrUpdateProperty(LogEventProperty property) {
 		if (property == null) {
 			throw new IllegalArgumentException("property");
 		}
-		properties.put(property.getName(), property.getValue());
+		writableProperties().put(property.getName(), property.getValue());
 	}
 
 	public void addPropertyIfAbsent(LogEventProperty property) {
 		if (property == null) {
 			throw new IllegalArgumentException("property");
 		}
-		if (properties.containsKey(property.getName())) {
+		// A deferred property still holds its place, so enrichers see its name
+		// as taken without forcing its conversion
+		LogEventPropertyMap writable = writableProperties();
+		if (writable.containsKey(property.getName())) {
 			return;
 		}
-		properties.put(property.getName(), property.getValue());
+		writable.put(property.getName(), property.getValue());
 	}
 
 	public void remotePropertyIfPresent(String propertyName) {
-		properties.remove(propertyName);
+		writableProperties().remove(propertyName);
 	}
 
+	// Both render against the property storage itself rather than the
+	// read-only view of a frozen event, so the template can use its slots
 	public void renderMessage(Writer output, Locale locale) throws IOException {
+		resolveDeferredProperties();
 		messageTemplate.render(properties, output, locale);
 	}
 
 	public String renderMessage(Locale locale) {
+		resolveDeferredProperties();
 		return messageTemplate.render(properties, locale);
 	}
+
+	private static long epochSecond(Date timestamp) {
+		if (timestamp == null) {
+			throw new IllegalArgumentException("timestamp");
+		}
+		return Math.floorDiv(timestamp.getTime(), MillisPerSecond);
+	}
+
+	private static int nanoOfSecond(Date timestamp) {
+		return (int) (Math.floorMod(timestamp.getTime(), MillisPerSecond) * NanosPerMilli);
+	}
+
+	// Reads go to the current storage, writes through writableProperties so
+	// shared storage is copied first
+	private final class PropertiesView extends AbstractMap<String, LogEventPropertyValue> {
+		@Override
+		public int size() {
+			return properties.size();
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return properties.containsKey(key);
+		}
+
+		@Override
+		public LogEventPropertyValue get(Object key) {
+			return properties.get(key);
+		}
+
+		@Override
+		public LogEventPropertyValue put(String key, LogEventPropertyValue value) {
+			return writableProperties().put(key, value);
+		}
+
+		@Override
+		public LogEventPropertyValue remove(Object key) {
+			return writableProperties().remove(key);
+		}
+
+		@Override
+		public void clear() {
+			writableProperties().clear();
+		}
+
+		@Override
+		public void forEach(BiConsumer<? super String, ? super LogEventPropertyValue> action) {
+			properties.forEach(action);
+		}
+
+		@Override
+		public Set<Map.Entry<String, LogEventPropertyValue>> entrySet() {
+			return sharedProperties ? Collections.unmodifiableMap(properties).entrySet() : properties.entrySet();
+		}
+	}
+
+	private LogEventPropertyMap writableProperties() {
+		if (frozenProperties != null) {
+			throw new IllegalStateException("The log event is frozen, use mutableCopy() to change it");
+		}
+		if (sharedProperties) {
+			properties = properties.copy();
+			sharedProperties = false;
+		}
+		return properties;
+	}
+
+	// Converts deferred properties in the slots they hold, so they keep their
+	// position. This bypasses writableProperties: placeholders can't be seen
+	// from outside, so filling them in completes a frozen event rather than
+	// changing it, and storage is only shared after they have been filled in.
+	// Frozen events may be read by several sink threads, hence the lock.
+	private void resolveDeferredProperties() {
+		if (!pendingProperties) {
+			return;
+		}
+
+		synchronized (this) {
+			if (!pendingProperties) {
+				return;
+			}
+
+			properties.replaceAll((name, value) -> value instanceof PendingPropertyValue
+					? ((PendingPropertyValue) value).resolve() : value);
+			pendingProperties = false;
+		}
+	}
 }
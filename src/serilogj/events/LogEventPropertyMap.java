@@ -0,0 +1,340 @@
+package serilogj.events;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The property storage of a <see cref="LogEvent"/>. Names and values are kept
+ * in parallel arrays in insertion order, which is also the iteration order.
+ * Most events carry a handful of properties, for which a linear scan beats
+ * hashing; only events with more than <see cref="IndexThreshold"/> properties
+ * get a hash index on top of the arrays.
+ *
+ * Like <see cref="HashMap"/>, this class is not thread-safe.
+ */
+public final class LogEventPropertyMap extends AbstractMap<String, LogEventPropertyValue> {
+	private static final int IndexThreshold = 8;
+	private static final int DefaultCapacity = 4;
+
+	private String[] names;
+	private LogEventPropertyValue[] values;
+	private int size;
+	private int modifications;
+	private HashMap<String, Integer> index;
+	private EntrySet entrySet;
+
+	public LogEventPropertyMap() {
+		this(DefaultCapacity);
+	}
+
+	public LogEventPropertyMap(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("initialCapacity");
+		}
+
+		names = new String[initialCapacity];
+		values = new LogEventPropertyValue[initialCapacity];
+	}
+
+	/**
+	 * Create an independent copy of this map, preserving its order.
+	 */
+	public LogEventPropertyMap copy() {
+		LogEventPropertyMap result = new LogEventPropertyMap(size + DefaultCapacity);
+		System.arraycopy(names, 0, result.names, 0, size);
+		System.arraycopy(values, 0, result.values, 0, size);
+		result.size = size;
+		if (index != null) {
+			result.index = new HashMap<String, Integer>(index);
+		}
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public LogEventPropertyValue get(Object key) {
+		int i = indexOf(key);
+		return i < 0 ? null : values[i];
+	}
+
+	/**
+	 * Look up <paramref name="key"/>, checking the property at position
+	 * <paramref name="hint"/> first. When the hint is right, which it is for
+	 * the properties a template bound itself, this skips both the scan and the
+	 * hash index.
+	 */
+	public LogEventPropertyValue get(String key, int hint) {
+		if (hint >= 0 && hint < size) {
+			String name = names[hint];
+			if (name == key || name.equals(key)) {
+				return values[hint];
+			}
+		}
+		return get(key);
+	}
+
+	@Override
+	public LogEventPropertyValue put(String key, LogEventPropertyValue value) {
+		if (key == null) {
+			throw new IllegalArgumentException("key");
+		}
+
+		int i = indexOf(key);
+		if (i >= 0) {
+			LogEventPropertyValue previous = values[i];
+			values[i] = value;
+			return previous;
+		}
+
+		if (size == names.length) {
+			int capacity = Math.max(DefaultCapacity, size * 2);
+			names = Arrays.copyOf(names, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		names[size] = key;
+		values[size] = value;
+		if (index != null) {
+			index.put(key, size);
+		}
+		size++;
+		modifications++;
+
+		if (index == null && size > IndexThreshold) {
+			rebuildIndex();
+		}
+		return null;
+	}
+
+	@Override
+	public LogEventPropertyValue remove(Object key) {
+		int i = indexOf(key);
+		if (i < 0) {
+			return null;
+		}
+
+		LogEventPropertyValue previous = values[i];
+		removeAt(i);
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(names, 0, size, null);
+		Arrays.fill(values, 0, size, null);
+		size = 0;
+		index = null;
+		modifications++;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super String, ? super LogEventPropertyValue> action) {
+		if (action == null) {
+			throw new IllegalArgumentException("action");
+		}
+
+		int expectedModifications = modifications;
+		for (int i = 0; i < size; i++) {
+			action.accept(names[i], values[i]);
+			if (modifications != expectedModifications) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<String, LogEventPropertyValue>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	/**
+	 * The name of the property at <paramref name="position"/>, in insertion
+	 * order.
+	 */
+	public String getName(int position) {
+		checkPosition(position);
+		return names[position];
+	}
+
+	/**
+	 * The value of the property at <paramref name="position"/>, in insertion
+	 * order.
+	 */
+	public LogEventPropertyValue getValue(int position) {
+		checkPosition(position);
+		return values[position];
+	}
+
+	private void checkPosition(int position) {
+		if (position < 0 || position >= size) {
+			throw new IndexOutOfBoundsException(String.valueOf(position));
+		}
+	}
+
+	private int indexOf(Object key) {
+		if (key == null) {
+			return -1;
+		}
+
+		if (index != null) {
+			Integer i = index.get(key);
+			return i == null ? -1 : i;
+		}
+
+		for (int i = 0; i < size; i++) {
+			String name = names[i];
+			if (name == key || name.equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void removeAt(int i) {
+		int moved = size - i - 1;
+		if (moved > 0) {
+			System.arraycopy(names, i + 1, names, i, moved);
+			System.arraycopy(values, i + 1, values, i, moved);
+		}
+		size--;
+		names[size] = null;
+		values[size] = null;
+		modifications++;
+
+		if (index != null) {
+			if (size > IndexThreshold) {
+				rebuildIndex();
+			} else {
+				index = null;
+			}
+		}
+	}
+
+	private void rebuildIndex() {
+		index = new HashMap<String, Integer>(size * 2);
+		for (int i = 0; i < size; i++) {
+			index.put(names[i], i);
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<String, LogEventPropertyValue>> {
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public void clear() {
+			LogEventPropertyMap.this.clear();
+		}
+
+		@Override
+		public Iterator<Map.Entry<String, LogEventPropertyValue>> iterator() {
+			return new EntryIterator();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<String, LogEventPropertyValue>> {
+		private int next;
+		private int last = -1;
+		private int expectedModifications = modifications;
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Map.Entry<String, LogEventPropertyValue> next() {
+			if (modifications != expectedModifications) {
+				throw new ConcurrentModificationException();
+			}
+			if (next >= size) {
+				throw new NoSuchElementException();
+			}
+
+			last = next++;
+			return new Entry(last);
+		}
+
+		@Override
+		public void remove() {
+			if (last < 0) {
+				throw new IllegalStateException();
+			}
+			if (modifications != expectedModifications) {
+				throw new ConcurrentModificationException();
+			}
+
+			removeAt(last);
+			next = last;
+			last = -1;
+			expectedModifications = modifications;
+		}
+	}
+
+	private final class Entry implements Map.Entry<String, LogEventPropertyValue> {
+		private final int position;
+
+		private Entry(int position) {
+			this.position = position;
+		}
+
+		@Override
+		public String getKey() {
+			return names[position];
+		}
+
+		@Override
+		public LogEventPropertyValue getValue() {
+			return values[position];
+		}
+
+		@Override
+		public LogEventPropertyValue setValue(LogEventPropertyValue value) {
+			LogEventPropertyValue previous = values[position];
+			values[position] = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+			return getKey().equals(other.getKey())
+					&& (getValue() == null ? other.getValue() == null : getValue().equals(other.getValue()));
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue();
+		}
+	}
+}
@@ -4,13 +4,21 @@ import java.util.*;
 import java.io.*;
 
 import serilogj.debugging.SelfLog;
+import serilogj.formatting.StringBuilderWriter;
 import serilogj.parsing.*;
 
 public class MessageTemplate {
+	private static final ArrayList<PropertyToken> NoTokens = new ArrayList<PropertyToken>(0);
+
 	private String text;
 	private ArrayList<MessageTemplateToken> tokens;
 	private ArrayList<PropertyToken> namedTokens;
 	private ArrayList<PropertyToken> positionalTokens;
+	// The tokens with, for each property token, the position its property is
+	// expected at in the event properties (-1 for text)
+	private MessageTemplateToken[] renderTokens;
+	private int[] slots;
+	private ArrayList<PropertyToken> tokensWithFormat;
 
 	public MessageTemplate(String text, ArrayList<MessageTemplateToken> tokens) {
 		if (text == null) {
@@ -24,6 +32,7 @@ public class MessageTemplate {
 		this.tokens = tokens;
 
 		ArrayList<PropertyToken> propertyTokens = new ArrayList<PropertyToken>();
+		ArrayList<PropertyToken> formatted = null;
 		boolean anyPositional = false;
 		boolean allPositional = true;
 		for (MessageTemplateToken t : tokens) {
@@ -33,6 +42,12 @@ public class MessageTemplate {
 
 			PropertyToken token = (PropertyToken) t;
 			propertyTokens.add(token);
+			if (token.getFormat() != null && !token.getFormat().equals("")) {
+				if (formatted == null) {
+					formatted = new ArrayList<PropertyToken>();
+				}
+				formatted.add(token);
+			}
 
 			if (token.getIsPositional()) {
 				anyPositional = true;
@@ -50,6 +65,33 @@ public class MessageTemplate {
 
 			namedTokens = propertyTokens;
 		}
+
+		tokensWithFormat = formatted != null ? formatted : NoTokens;
+		renderTokens = tokens.toArray(new MessageTemplateToken[0]);
+		slots = computeSlots(renderTokens, allPositional);
+	}
+
+	// The binder adds positional properties in order of position, and named
+	// properties in order of first occurrence, so that is where they are found
+	// unless enrichers moved them.
+	private static int[] computeSlots(MessageTemplateToken[] tokens, boolean allPositional) {
+		int[] slots = new int[tokens.length];
+		HashMap<String, Integer> named = allPositional ? null : new HashMap<String, Integer>();
+		for (int i = 0; i < tokens.length; i++) {
+			if (!(tokens[i] instanceof PropertyToken)) {
+				slots[i] = -1;
+				continue;
+			}
+
+			PropertyToken token = (PropertyToken) tokens[i];
+			if (allPositional) {
+				slots[i] = token.getPosition();
+			} else {
+				Integer slot = named.putIfAbsent(token.getPropertyName(), named.size());
+				slots[i] = slot == null ? named.size() - 1 : slot;
+			}
+		}
+		return slots;
 	}
 
 	public ArrayList<MessageTemplateToken> getTokens() {
@@ -68,20 +110,51 @@ public class MessageTemplate {
 		return positionalTokens;
 	}
 
+	/**
+	 * The property tokens that specify a format, in template order; worked out
+	 * once, when the template is created. The list is shared and must not be
+	 * modified.
+	 */
+	public ArrayList<PropertyToken> getTokensWithFormat() {
+		return tokensWithFormat;
+	}
+
 	public void render(Map<String, LogEventPropertyValue> properties, Writer output, Locale locale) throws IOException {
-		for (MessageTemplateToken token : tokens) {
-			token.render(properties, output, locale);
+		if (properties == null) {
+			throw new IllegalArgumentException("properties");
+		}
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		LogEventPropertyMap indexed = properties instanceof LogEventPropertyMap ? (LogEventPropertyMap) properties
+				: null;
+		for (int i = 0; i < renderTokens.length; i++) {
+			int slot = slots[i];
+			if (slot < 0) {
+				renderTokens[i].render(properties, output, locale);
+				continue;
+			}
+
+			PropertyToken token = (PropertyToken) renderTokens[i];
+			LogEventPropertyValue value = indexed != null ? indexed.get(token.getPropertyName(), slot)
+					: properties.get(token.getPropertyName());
+			if (value == null) {
+				output.write(token.toString());
+			} else {
+				token.renderValue(value, output, locale);
+			}
 		}
 	}
 
 	public String render(Map<String, LogEventPropertyValue> properties, Locale locale) {
+		StringBuilderWriter output = StringBuilderWriter.acquire();
 		try {
-			StringWriter output = new StringWriter();
 			render(properties, output, locale);
-			return output.toString();
 		} catch (IOException e) {
-			return "";
+			// Won't happen, the builder doesn't throw
 		}
+		return StringBuilderWriter.release(output);
 	}
 
 	@Override
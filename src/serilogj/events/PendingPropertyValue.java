@@ -0,0 +1,26 @@
+package serilogj.events;
+
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Holds the place of a <see cref="DeferredLogEventProperty"/> among the
+ * properties of a <see cref="LogEvent"/> until it is converted. The event
+ * replaces it before its properties can be read, so it is never rendered.
+ */
+final class PendingPropertyValue extends LogEventPropertyValue {
+	private final DeferredLogEventProperty property;
+
+	PendingPropertyValue(DeferredLogEventProperty property) {
+		this.property = property;
+	}
+
+	LogEventPropertyValue resolve() {
+		return property.createValue();
+	}
+
+	@Override
+	public void render(Writer output, String format, Locale locale) {
+		throw new IllegalStateException("Deferred property " + property.getName() + " has not been resolved");
+	}
+}
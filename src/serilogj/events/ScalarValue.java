@@ -1,12 +1,13 @@
 package serilogj.events;
 
 import java.io.*;
-import java.text.SimpleDateFormat;
-import java.time.format.DateTimeFormatter;
+import java.time.DateTimeException;
 import java.time.temporal.TemporalAccessor;
 import java.util.*;
 
 import serilogj.debugging.SelfLog;
+import serilogj.formatting.FormatCache;
+import serilogj.formatting.NumericWriter;
 
 public class ScalarValue extends LogEventPropertyValue {
 	private Object value;
@@ -21,41 +22,71 @@ public class ScalarValue extends LogEventPropertyValue {
 			throw new IllegalArgumentException("output");
 		}
 
+		renderScalar(output, value, format, locale);
+	}
+
+	/**
+	 * Writes <paramref name="value"/> the way a <see cref="ScalarValue"/>
+	 * holding it would, without creating one.
+	 */
+	static void renderScalar(Writer output, Object value, String format, Locale locale) throws IOException {
 		if (value == null) {
 			output.write("null");
 			return;
 		}
 
-		// TODO: Something with format
-
 		String str = (String) ((value instanceof String) ? value : null);
 		if (str != null && (format == null || !format.equals("l"))) {
 			output.write("\"");
 			output.write(str.replace("\"", "\\\""));
 			output.write("\"");
-		} else if (value instanceof Date && format != null && !format.equals("")) {
+		} else if (format == null || format.equals("")) {
+			renderDefault(output, value);
+		} else if (value instanceof Date) {
 			try {
-				SimpleDateFormat formatter = locale == null ? new SimpleDateFormat(format)
-						: new SimpleDateFormat(format, locale);
-				output.write(formatter.format(value));
-			} catch (Exception e) {
+				output.write(FormatCache.getDateFormat(format, locale).format(value));
+			} catch (IllegalArgumentException e) {
 				output.write(value.toString());
 				SelfLog.writeLine("Invalid date format \"%s\", exception %s", format, e.getMessage());
 			}
-		} else if (value instanceof TemporalAccessor && format != null && format.equals("")) {
+		} else if (value instanceof TemporalAccessor) {
 			try {
-				DateTimeFormatter formatter = locale == null ? DateTimeFormatter.ofPattern(format)
-						: DateTimeFormatter.ofPattern(format, locale);
-				output.write(formatter.format((TemporalAccessor) value));
-			} catch (Exception e) {
+				output.write(FormatCache.getDateTimeFormatter(format, locale).format((TemporalAccessor) value));
+			} catch (DateTimeException | IllegalArgumentException e) {
 				output.write(value.toString());
 				SelfLog.writeLine("Invalid date format \"%s\", exception %s", format, e.getMessage());
 			}
+		} else if (value instanceof Number && FormatCache.isNumberFormat(format)) {
+			renderNumber(output, value, format, locale);
+		} else {
+			renderDefault(output, value);
+		}
+	}
+
+	// Boxed numbers are written without the intermediate string
+	private static void renderDefault(Writer output, Object value) throws IOException {
+		if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			NumericWriter.write(output, ((Number) value).longValue());
+		} else if (value instanceof Double) {
+			NumericWriter.write(output, (double) (Double) value);
+		} else if (value instanceof Float) {
+			NumericWriter.write(output, (float) (Float) value);
 		} else {
 			output.write(value.toString());
 		}
+	}
 
-		// TODO: Do something with format
+	/**
+	 * Writes <paramref name="number"/> with the <see cref="DecimalFormat"/>
+	 * pattern <paramref name="format"/>, such as "0.00" or "#,##0".
+	 */
+	static void renderNumber(Writer output, Object number, String format, Locale locale) throws IOException {
+		try {
+			output.write(FormatCache.getNumberFormat(format, locale).format(number));
+		} catch (IllegalArgumentException e) {
+			output.write(number.toString());
+			SelfLog.writeLine("Invalid number format \"%s\", exception %s", format, e.getMessage());
+		}
 	}
 
 	public Object getValue() {
@@ -65,11 +96,12 @@ public class ScalarValue extends LogEventPropertyValue {
 	@Override
 	public boolean equals(Object obj) {
 		ScalarValue sv = (ScalarValue) ((obj instanceof ScalarValue) ? obj : null);
-		return sv != null && value == sv.value;
+		return sv != null && Objects.equals(getValue(), sv.getValue());
 	}
 
 	@Override
 	public int hashCode() {
+		Object value = getValue();
 		return value == null ? 0 : value.hashCode();
 	}
 }
@@ -0,0 +1,166 @@
+package serilogj.formatting;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compiled date, time and number formats, cached by pattern and locale so a
+ * format string in a template is parsed once rather than on every render.
+ * <see cref="DateTimeFormatter"/> is immutable and shared; the
+ * <see cref="SimpleDateFormat"/> and <see cref="DecimalFormat"/> instances
+ * returned are confined to the calling thread, cloned from a prototype the
+ * first time each thread asks for them.
+ *
+ * Invalid patterns are remembered too, and the same
+ * <see cref="IllegalArgumentException"/> is thrown for them every time.
+ */
+public final class FormatCache {
+	private static final int MaxCacheItems = 256;
+
+	private static final ConcurrentHashMap<Key, Entry<SimpleDateFormat>> dateFormats = new ConcurrentHashMap<Key, Entry<SimpleDateFormat>>();
+	private static final ConcurrentHashMap<Key, Entry<DateTimeFormatter>> dateTimeFormatters = new ConcurrentHashMap<Key, Entry<DateTimeFormatter>>();
+	private static final ConcurrentHashMap<Key, Entry<DecimalFormat>> numberFormats = new ConcurrentHashMap<Key, Entry<DecimalFormat>>();
+
+	private static final class Key {
+		private final String pattern;
+		private final Locale locale;
+
+		private Key(String pattern, Locale locale) {
+			this.pattern = pattern;
+			this.locale = locale;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return pattern.equals(other.pattern) && Objects.equals(locale, other.locale);
+		}
+
+		@Override
+		public int hashCode() {
+			return pattern.hashCode() * 31 + Objects.hashCode(locale);
+		}
+	}
+
+	private static final class Entry<T> {
+		private final T shared;
+		private final ThreadLocal<T> local;
+		private final IllegalArgumentException error;
+
+		private Entry(T shared, ThreadLocal<T> local, IllegalArgumentException error) {
+			this.shared = shared;
+			this.local = local;
+			this.error = error;
+		}
+
+		private T get() {
+			if (error != null) {
+				throw error;
+			}
+			return local != null ? local.get() : shared;
+		}
+	}
+
+	private FormatCache() {
+	}
+
+	/**
+	 * A <see cref="SimpleDateFormat"/> for <paramref name="pattern"/>, for use
+	 * on the calling thread only.
+	 *
+	 * @throws IllegalArgumentException
+	 *             The pattern is invalid.
+	 */
+	public static SimpleDateFormat getDateFormat(String pattern, Locale locale) {
+		return lookup(dateFormats, pattern, locale, key -> {
+			SimpleDateFormat prototype = key.locale == null ? new SimpleDateFormat(key.pattern)
+					: new SimpleDateFormat(key.pattern, key.locale);
+			return confined(prototype, () -> (SimpleDateFormat) prototype.clone());
+		});
+	}
+
+	/**
+	 * A <see cref="DateTimeFormatter"/> for <paramref name="pattern"/>.
+	 *
+	 * @throws IllegalArgumentException
+	 *             The pattern is invalid.
+	 */
+	public static DateTimeFormatter getDateTimeFormatter(String pattern, Locale locale) {
+		return lookup(dateTimeFormatters, pattern, locale, key -> new Entry<DateTimeFormatter>(
+				key.locale == null ? DateTimeFormatter.ofPattern(key.pattern)
+						: DateTimeFormatter.ofPattern(key.pattern, key.locale),
+				null, null));
+	}
+
+	/**
+	 * A <see cref="DecimalFormat"/> for <paramref name="pattern"/>, for use on
+	 * the calling thread only.
+	 *
+	 * @throws IllegalArgumentException
+	 *             The pattern is invalid.
+	 */
+	public static DecimalFormat getNumberFormat(String pattern, Locale locale) {
+		return lookup(numberFormats, pattern, locale, key -> {
+			DecimalFormat prototype = key.locale == null ? new DecimalFormat(key.pattern)
+					: new DecimalFormat(key.pattern, DecimalFormatSymbols.getInstance(key.locale));
+			return confined(prototype, () -> (DecimalFormat) prototype.clone());
+		});
+	}
+
+	/**
+	 * True if <paramref name="format"/> looks like a number pattern, that is,
+	 * it has a digit placeholder. <see cref="DecimalFormat"/> accepts almost
+	 * any text as a prefix, so without this check formats meant for other
+	 * values (such as "l") would be applied to numbers too.
+	 */
+	public static boolean isNumberFormat(String format) {
+		return format != null && (format.indexOf('0') >= 0 || format.indexOf('#') >= 0);
+	}
+
+	public static void clear() {
+		dateFormats.clear();
+		dateTimeFormatters.clear();
+		numberFormats.clear();
+	}
+
+	// The prototype itself is never used to format, so threads can clone it
+	// concurrently
+	private static <T> Entry<T> confined(T prototype, Supplier<T> copy) {
+		return new Entry<T>(null, ThreadLocal.withInitial(copy), null);
+	}
+
+	private static <T> T lookup(ConcurrentHashMap<Key, Entry<T>> cache, String pattern, Locale locale,
+			Function<Key, Entry<T>> create) {
+		if (pattern == null) {
+			throw new IllegalArgumentException("pattern");
+		}
+
+		Key key = new Key(pattern, locale);
+		Entry<T> entry = cache.get(key);
+		if (entry == null) {
+			try {
+				entry = create.apply(key);
+			} catch (IllegalArgumentException e) {
+				entry = new Entry<T>(null, null, e);
+			}
+
+			// Only patterns built from message data should overflow this; start
+			// over rather than grow without bound
+			if (cache.size() >= MaxCacheItems) {
+				cache.clear();
+			}
+			cache.put(key, entry);
+		}
+		return entry.get();
+	}
+}
@@ -0,0 +1,76 @@
+package serilogj.formatting;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes numbers straight to a <see cref="Writer"/>, without going through
+ * <see cref="String"/> conversions. Instances are not needed; all methods are
+ * static and safe for concurrent use.
+ *
+ * Doubles and floats are written as the shortest decimal that parses back to
+ * the same value, in the layout of <see cref="Double.toString"/>; before Java
+ * 19 that method could write more digits than needed (2.0E-3 as
+ * 0.0020, for instance), so output doesn't depend on the Java version.
+ */
+public final class NumericWriter {
+	// Large enough for Long.MIN_VALUE including its sign, and for any double
+	private static final ThreadLocal<char[]> buffers = ThreadLocal
+			.withInitial(() -> new char[ShortestDecimal.MaxLength]);
+
+	private NumericWriter() {
+	}
+
+	public static void write(Writer output, int value) throws IOException {
+		write(output, (long) value);
+	}
+
+	public static void write(Writer output, long value) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		char[] buffer = buffers.get();
+		int position = buffer.length;
+
+		// Work with negative numbers so Long.MIN_VALUE doesn't overflow
+		boolean negative = value < 0;
+		long remaining = negative ? value : -value;
+		do {
+			buffer[--position] = (char) ('0' - (remaining % 10));
+			remaining /= 10;
+		} while (remaining != 0);
+
+		if (negative) {
+			buffer[--position] = '-';
+		}
+
+		output.write(buffer, position, buffer.length - position);
+	}
+
+	public static void write(Writer output, double value) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		char[] buffer = buffers.get();
+		output.write(buffer, 0, ShortestDecimal.write(value, buffer));
+	}
+
+	public static void write(Writer output, float value) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		char[] buffer = buffers.get();
+		output.write(buffer, 0, ShortestDecimal.write(value, buffer));
+	}
+
+	public static void write(Writer output, boolean value) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		output.write(value ? "true" : "false");
+	}
+}
@@ -0,0 +1,377 @@
+package serilogj.formatting;
+
+import java.math.BigInteger;
+
+/**
+ * Converts doubles and floats to the shortest decimal that rounds back to the
+ * same value, using the Schubfach algorithm by Raffaello Giulietti (the one
+ * behind <see cref="Double.toString"/> from Java 19 on). The text has the same
+ * layout as <see cref="Double.toString"/>: plain notation from 10^-3 up to
+ * 10^7, computerized scientific notation outside of that.
+ *
+ * Digits are written into a caller-supplied buffer, so converting doesn't
+ * allocate.
+ */
+final class ShortestDecimal {
+	/**
+	 * Enough for any double or float, such as "-2.2250738585072014E-308".
+	 */
+	static final int MaxLength = 32;
+
+	private static final int DoubleP = 53;
+	private static final int DoubleQMin = -1074;
+	private static final long DoubleCMin = 1L << (DoubleP - 1);
+	private static final long DoubleCTiny = 3;
+	private static final long DoubleTMask = DoubleCMin - 1;
+
+	private static final int FloatP = 24;
+	private static final int FloatQMin = -149;
+	private static final int FloatCMin = 1 << (FloatP - 1);
+	private static final int FloatCTiny = 8;
+	private static final int FloatTMask = FloatCMin - 1;
+
+	private static final long Mask63 = (1L << 63) - 1;
+	private static final long Mask32 = (1L << 32) - 1;
+
+	// For each decimal exponent k, g = floor(10^-k * 2^(125 - floor(log2(10^-k)))) + 1,
+	// a 126 bit value split into its upper and lower 63 bits
+	private static final int KMin = -324;
+	private static final int KMax = 292;
+	private static final long[] G = computeTable();
+
+	private ShortestDecimal() {
+	}
+
+	/**
+	 * Writes <paramref name="value"/> to <paramref name="buffer"/>, which must
+	 * have room for <see cref="MaxLength"/> characters.
+	 *
+	 * @return The number of characters written.
+	 */
+	static int write(double value, char[] buffer) {
+		long bits = Double.doubleToRawLongBits(value);
+		long t = bits & DoubleTMask;
+		int bq = (int) (bits >>> (DoubleP - 1)) & 0x7FF;
+		if (bq == 0x7FF) {
+			return special(t != 0, bits < 0, buffer);
+		}
+
+		int position = 0;
+		if (bits < 0) {
+			buffer[position++] = '-';
+		}
+		if (bq != 0) {
+			int mq = -DoubleQMin + 1 - bq;
+			long c = DoubleCMin | t;
+			// Integers below 2^53 are exact
+			if (0 < mq && mq < DoubleP) {
+				long f = c >> mq;
+				if (f << mq == c) {
+					return toChars(f, 0, buffer, position);
+				}
+			}
+			return toDecimal(-mq, c, 0, buffer, position);
+		}
+		if (t != 0) {
+			// Subnormal
+			return t < DoubleCTiny ? toDecimal(DoubleQMin, 10 * t, -1, buffer, position)
+					: toDecimal(DoubleQMin, t, 0, buffer, position);
+		}
+		return zero(buffer, position);
+	}
+
+	/**
+	 * Writes <paramref name="value"/> to <paramref name="buffer"/>, which must
+	 * have room for <see cref="MaxLength"/> characters.
+	 *
+	 * @return The number of characters written.
+	 */
+	static int write(float value, char[] buffer) {
+		int bits = Float.floatToRawIntBits(value);
+		int t = bits & FloatTMask;
+		int bq = (bits >>> (FloatP - 1)) & 0xFF;
+		if (bq == 0xFF) {
+			return special(t != 0, bits < 0, buffer);
+		}
+
+		int position = 0;
+		if (bits < 0) {
+			buffer[position++] = '-';
+		}
+		if (bq != 0) {
+			int mq = -FloatQMin + 1 - bq;
+			int c = FloatCMin | t;
+			if (0 < mq && mq < FloatP) {
+				int f = c >> mq;
+				if (f << mq == c) {
+					return toChars(f, 0, buffer, position);
+				}
+			}
+			return toDecimal(-mq, c, 0, buffer, position);
+		}
+		if (t != 0) {
+			return t < FloatCTiny ? toDecimal(FloatQMin, 10 * t, -1, buffer, position)
+					: toDecimal(FloatQMin, t, 0, buffer, position);
+		}
+		return zero(buffer, position);
+	}
+
+	// The value is c 2^q; dk corrects the decimal exponent when c was scaled
+	// up by ten to get enough precision for tiny subnormals
+	private static int toDecimal(int q, long c, int dk, char[] buffer, int position) {
+		int out = (int) c & 0x1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != DoubleCMin || q == DoubleQMin) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			// The gap below a power of two is half the gap above it
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 2;
+
+		long g1 = g1(k);
+		long g0 = g0(k);
+		long vb = roundToOdd(g1, g0, cb << h);
+		long vbl = roundToOdd(g1, g0, cbl << h);
+		long vbr = roundToOdd(g1, g0, cbr << h);
+
+		// Try one digit fewer first
+		long s = vb >> 2;
+		if (s >= 100) {
+			long sp10 = 10 * multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return toChars(upin ? sp10 : tp10, k, buffer, position);
+			}
+		}
+
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return toChars(uin ? s : t, k + dk, buffer, position);
+		}
+
+		// Both are in the rounding interval; take the closer, or the even one
+		long cmp = vb - ((s + t) << 1);
+		return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, position);
+	}
+
+	private static int toDecimal(int q, int c, int dk, char[] buffer, int position) {
+		int out = c & 0x1;
+		long cb = (long) c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != FloatCMin || q == FloatQMin) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 33;
+
+		long g = g1(k) + 1;
+		int vb = roundToOdd(g, cb << h);
+		int vbl = roundToOdd(g, cbl << h);
+		int vbr = roundToOdd(g, cbr << h);
+
+		int s = vb >> 2;
+		if (s >= 100) {
+			int sp10 = 10 * (int) (s * 1_717_986_919L >>> 34);
+			int tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return toChars(upin ? sp10 : tp10, k, buffer, position);
+			}
+		}
+
+		int t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return toChars(uin ? s : t, k + dk, buffer, position);
+		}
+
+		int cmp = vb - ((s + t) << 1);
+		return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, position);
+	}
+
+	private static long roundToOdd(long g1, long g0, long cp) {
+		long x1 = multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | ((z & Mask63) + Mask63) >>> 63;
+	}
+
+	private static int roundToOdd(long g, long cp) {
+		long x1 = multiplyHigh(g, cp);
+		long vbp = x1 >>> 31;
+		return (int) (vbp | ((x1 & Mask32) + Mask32) >>> 32);
+	}
+
+	// Writes f 10^e in the layout of Double.toString
+	private static int toChars(long f, int e, char[] buffer, int position) {
+		while (f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+
+		// Digits go to the end of the buffer first, then into place
+		int end = MaxLength;
+		int start = end;
+		do {
+			buffer[--start] = (char) ('0' + f % 10);
+			f /= 10;
+		} while (f != 0);
+		int length = end - start;
+		// The value is 0.digits 10^exponent
+		int exponent = e + length;
+
+		if (0 < exponent && exponent <= 7) {
+			if (length <= exponent) {
+				position = copy(buffer, start, length, position);
+				position = fill(buffer, '0', exponent - length, position);
+				buffer[position++] = '.';
+				buffer[position++] = '0';
+			} else {
+				position = copy(buffer, start, exponent, position);
+				buffer[position++] = '.';
+				position = copy(buffer, start + exponent, length - exponent, position);
+			}
+			return position;
+		}
+
+		if (-3 < exponent && exponent <= 0) {
+			buffer[position++] = '0';
+			buffer[position++] = '.';
+			position = fill(buffer, '0', -exponent, position);
+			return copy(buffer, start, length, position);
+		}
+
+		buffer[position++] = buffer[start];
+		buffer[position++] = '.';
+		if (length > 1) {
+			position = copy(buffer, start + 1, length - 1, position);
+		} else {
+			buffer[position++] = '0';
+		}
+		buffer[position++] = 'E';
+		int scientific = exponent - 1;
+		if (scientific < 0) {
+			buffer[position++] = '-';
+			scientific = -scientific;
+		}
+		if (scientific >= 100) {
+			buffer[position++] = (char) ('0' + scientific / 100);
+			scientific %= 100;
+			buffer[position++] = (char) ('0' + scientific / 10);
+		} else if (scientific >= 10) {
+			buffer[position++] = (char) ('0' + scientific / 10);
+		}
+		buffer[position++] = (char) ('0' + scientific % 10);
+		return position;
+	}
+
+	// The digits are at the end of the buffer, past anything written in place,
+	// so moving them forward never overwrites digits still to be moved
+	private static int copy(char[] buffer, int from, int count, int position) {
+		System.arraycopy(buffer, from, buffer, position, count);
+		return position + count;
+	}
+
+	private static int fill(char[] buffer, char c, int count, int position) {
+		for (int i = 0; i < count; i++) {
+			buffer[position++] = c;
+		}
+		return position;
+	}
+
+	private static int special(boolean nan, boolean negative, char[] buffer) {
+		String text = nan ? "NaN" : negative ? "-Infinity" : "Infinity";
+		text.getChars(0, text.length(), buffer, 0);
+		return text.length();
+	}
+
+	private static int zero(char[] buffer, int position) {
+		buffer[position++] = '0';
+		buffer[position++] = '.';
+		buffer[position++] = '0';
+		return position;
+	}
+
+	// floor(log10(2^e))
+	private static int flog10pow2(int e) {
+		return (int) (e * 661_971_961_083L >> 41);
+	}
+
+	// floor(log10(3/4 2^e))
+	private static int flog10threeQuartersPow2(int e) {
+		return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+
+	// floor(log2(10^e))
+	private static int flog2pow10(int e) {
+		return (int) (e * 913_124_641_741L >> 38);
+	}
+
+	private static long g1(int k) {
+		return G[(k - KMin) << 1];
+	}
+
+	private static long g0(int k) {
+		return G[((k - KMin) << 1) + 1];
+	}
+
+	// Math.multiplyHigh, which isn't available on Java 8
+	private static long multiplyHigh(long x, long y) {
+		long x1 = x >> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >> 32;
+		long y2 = y & 0xFFFFFFFFL;
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		long z0 = t >> 32;
+		z1 += x2 * y1;
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+
+	// Computed rather than spelled out as 1234 literals; this takes a few
+	// milliseconds, once
+	private static long[] computeTable() {
+		long[] table = new long[(KMax - KMin + 1) << 1];
+		BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		for (int k = KMin; k <= KMax; k++) {
+			int e = -k;
+			BigInteger g;
+			if (e >= 0) {
+				BigInteger power = BigInteger.TEN.pow(e);
+				int shift = 125 - (power.bitLength() - 1);
+				g = shift >= 0 ? power.shiftLeft(shift) : power.shiftRight(-shift);
+			} else {
+				BigInteger power = BigInteger.TEN.pow(-e);
+				// 10^-e isn't a power of two, so floor(log2(10^e)) is
+				// -bitLength
+				int shift = 125 + power.bitLength();
+				g = BigInteger.ONE.shiftLeft(shift).divide(power);
+			}
+			g = g.add(BigInteger.ONE);
+
+			table[(k - KMin) << 1] = g.shiftRight(63).longValue();
+			table[((k - KMin) << 1) + 1] = g.and(mask).longValue();
+		}
+		return table;
+	}
+}
@@ -0,0 +1,163 @@
+package serilogj.formatting;
+
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import serilogj.metrics.Counter;
+import serilogj.metrics.Metrics;
+
+/**
+ * Caches the text of <see cref="Throwable.printStackTrace"/>, which is by far
+ * the most expensive part of formatting an event with an exception. When the
+ * same failure is logged over and over, as it tends to be during an incident,
+ * every formatter gets the text from here instead of walking the stack again.
+ *
+ * Exceptions are keyed by a fingerprint of their type, message and frames,
+ * including those of their causes and suppressed exceptions, so distinct
+ * instances thrown from the same place share an entry.
+ */
+public final class StackTraceCache {
+	private static final Counter HitCount = Metrics.counter("stacktracecache.hits");
+	private static final Counter MissCount = Metrics.counter("stacktracecache.misses");
+
+	private static final int MaxCacheItems = 256;
+	// Bounds the walk through causes and suppressed exceptions, which may
+	// refer back to each other
+	private static final int MaxFingerprintedCauses = 64;
+	private static final int MaxFingerprintedSuppressionDepth = 4;
+	private static final long Multiplier = 0x9E3779B97F4A7C15L;
+
+	private static final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<Long, Entry>();
+	private static volatile long referenceWindowMillis;
+
+	static final class Entry {
+		private final Class<?> type;
+		private final String message;
+		private final StackTraceElement[] frames;
+		final String fingerprint;
+		final String stackTrace;
+
+		private Entry(Throwable exception, StackTraceElement[] frames, long fingerprint, String stackTrace) {
+			this.type = exception.getClass();
+			this.message = exception.getMessage();
+			this.frames = frames;
+			this.fingerprint = String.format("%016x", fingerprint);
+			this.stackTrace = stackTrace;
+		}
+
+		// Guards against fingerprint collisions, which are unlikely but would
+		// otherwise return the trace of an unrelated exception
+		private boolean matches(Throwable exception, StackTraceElement[] frames) {
+			return type == exception.getClass() && Objects.equals(message, exception.getMessage())
+					&& Arrays.equals(this.frames, frames);
+		}
+	}
+
+	private StackTraceCache() {
+	}
+
+	/**
+	 * The window during which a repeated exception is written as a short
+	 * reference to its fingerprint rather than as a full stack trace; see
+	 * <see cref="StackTraceReferences"/>. Zero, the default, always writes
+	 * the full trace.
+	 */
+	public static long getReferenceWindowMillis() {
+		return referenceWindowMillis;
+	}
+
+	public static void setReferenceWindowMillis(long windowMillis) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException("windowMillis");
+		}
+		referenceWindowMillis = windowMillis;
+	}
+
+	/**
+	 * The stack trace of <paramref name="exception"/>, as written by
+	 * <see cref="Throwable.printStackTrace"/>.
+	 */
+	public static String getStackTrace(Throwable exception) {
+		return lookup(exception).stackTrace;
+	}
+
+	/**
+	 * A 64-bit fingerprint of the type, message and frames of
+	 * <paramref name="exception"/> and the exceptions it refers to.
+	 */
+	public static long fingerprint(Throwable exception) {
+		if (exception == null) {
+			throw new IllegalArgumentException("exception");
+		}
+		return fingerprint(exception, exception.getStackTrace(), 0);
+	}
+
+	public static void clear() {
+		entries.clear();
+	}
+
+	static Entry lookup(Throwable exception) {
+		if (exception == null) {
+			throw new IllegalArgumentException("exception");
+		}
+
+		StackTraceElement[] frames = exception.getStackTrace();
+		long fingerprint = fingerprint(exception, frames, 0);
+		Entry entry = entries.get(fingerprint);
+		if (entry != null && entry.matches(exception, frames)) {
+			if (Metrics.isEnabled()) {
+				HitCount.increment();
+			}
+			return entry;
+		}
+		if (Metrics.isEnabled()) {
+			MissCount.increment();
+		}
+
+		StringBuilderWriter output = new StringBuilderWriter(1024);
+		exception.printStackTrace(new PrintWriter(output));
+		entry = new Entry(exception, frames, fingerprint, output.toString());
+
+		// As with templates, overflowing is only expected when exceptions carry
+		// unique messages; start over rather than grow without bound
+		if (entries.size() >= MaxCacheItems) {
+			entries.clear();
+		}
+		entries.put(fingerprint, entry);
+		return entry;
+	}
+
+	private static long fingerprint(Throwable exception, StackTraceElement[] frames, int depth) {
+		long hash = 0;
+		Throwable current = exception;
+		StackTraceElement[] currentFrames = frames;
+		for (int i = 0; current != null && i < MaxFingerprintedCauses; i++) {
+			hash = mix(hash, current.getClass().getName().hashCode());
+			hash = mix(hash, Objects.hashCode(current.getMessage()));
+			for (StackTraceElement frame : currentFrames) {
+				hash = mix(hash, frame.getClassName().hashCode());
+				hash = mix(hash, frame.getMethodName().hashCode());
+				hash = mix(hash, Objects.hashCode(frame.getFileName()));
+				hash = mix(hash, frame.getLineNumber());
+			}
+			if (depth < MaxFingerprintedSuppressionDepth) {
+				for (Throwable suppressed : current.getSuppressed()) {
+					hash = mix(hash, fingerprint(suppressed, suppressed.getStackTrace(), depth + 1));
+				}
+			}
+
+			current = current.getCause();
+			currentFrames = current == null ? null : current.getStackTrace();
+			hash = mix(hash, 1);
+		}
+
+		hash ^= hash >>> 32;
+		return hash;
+	}
+
+	private static long mix(long hash, long value) {
+		return (hash ^ value) * Multiplier;
+	}
+}
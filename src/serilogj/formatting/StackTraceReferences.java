@@ -0,0 +1,62 @@
+package serilogj.formatting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders exceptions for one formatter through the shared
+ * <see cref="StackTraceCache"/>. When a reference window is set with
+ * <see cref="StackTraceCache.setReferenceWindowMillis"/>, the first occurrence
+ * of an exception in each window is written in full, prefixed with its
+ * fingerprint, and repeats within the window are written as a single line
+ * referring to that fingerprint.
+ *
+ * Each formatter keeps its own instance, so every sink still shows the full
+ * trace at least once per window.
+ */
+public final class StackTraceReferences {
+	private static final int MaxTrackedFingerprints = 256;
+
+	private final ConcurrentHashMap<String, AtomicLong> lastWrittenInFull = new ConcurrentHashMap<String, AtomicLong>();
+
+	/**
+	 * True if <see cref="render"/> may return references, in which case the
+	 * text starts with the fingerprint and the message of the exception.
+	 */
+	public boolean isReferencing() {
+		return StackTraceCache.getReferenceWindowMillis() > 0;
+	}
+
+	/**
+	 * The stack trace of <paramref name="exception"/>, or a reference to the
+	 * one written earlier in the window.
+	 */
+	public String render(Throwable exception) {
+		StackTraceCache.Entry entry = StackTraceCache.lookup(exception);
+		long windowMillis = StackTraceCache.getReferenceWindowMillis();
+		if (windowMillis <= 0) {
+			return entry.stackTrace;
+		}
+
+		long now = System.nanoTime();
+		long windowNanos = windowMillis * 1_000_000L;
+		AtomicLong last = lastWrittenInFull.get(entry.fingerprint);
+		if (last == null) {
+			if (lastWrittenInFull.size() >= MaxTrackedFingerprints) {
+				lastWrittenInFull.clear();
+			}
+			last = new AtomicLong(now - windowNanos);
+			AtomicLong existing = lastWrittenInFull.putIfAbsent(entry.fingerprint, last);
+			if (existing != null) {
+				last = existing;
+			}
+		}
+
+		// Only the thread that moves the window on writes the full trace
+		long previous = last.get();
+		if (now - previous >= windowNanos && last.compareAndSet(previous, now)) {
+			return "[" + entry.fingerprint + "] " + entry.stackTrace;
+		}
+		return "[" + entry.fingerprint + "] " + exception + " (stack trace repeated)" + System.lineSeparator();
+	}
+}
@@ -0,0 +1,165 @@
+package serilogj.formatting;
+
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A <see cref="Writer"/> over a <see cref="StringBuilder"/>. Unlike
+ * <see cref="java.io.StringWriter"/>, which is backed by a synchronized
+ * <see cref="StringBuffer"/>, it does no locking, so instances must not be
+ * shared between threads.
+ *
+ * Use <see cref="acquire"/> and <see cref="release"/> to borrow the instance
+ * kept for the current thread rather than allocating one per render. Virtual
+ * threads borrow from a small shared pool instead: they are typically created
+ * per task, so an instance kept per thread would rarely be reused, and a
+ * hundred thousand of them would each hold on to a buffer.
+ */
+public final class StringBuilderWriter extends Writer {
+	// Builders that grew past this are left for the garbage collector, so an
+	// unusually large message doesn't pin its buffer to the thread
+	private static final int MaxCachedCapacity = 16 * 1024;
+	private static final ThreadLocal<StringBuilderWriter> cached = new ThreadLocal<StringBuilderWriter>();
+	// About one per carrier thread; polled and offered without waiting
+	private static final ArrayBlockingQueue<StringBuilderWriter> shared = new ArrayBlockingQueue<StringBuilderWriter>(
+			2 * Runtime.getRuntime().availableProcessors());
+	// Thread.isVirtual, from Java 21 on; null before
+	private static final MethodHandle isVirtual = findIsVirtual();
+
+	private final StringBuilder builder;
+
+	public StringBuilderWriter() {
+		this(256);
+	}
+
+	public StringBuilderWriter(int initialCapacity) {
+		builder = new StringBuilder(initialCapacity);
+	}
+
+	/**
+	 * Borrow the writer cached for the current thread, or a new one when it is
+	 * already in use further up the stack. The writer is empty.
+	 */
+	public static StringBuilderWriter acquire() {
+		StringBuilderWriter writer;
+		if (isVirtualThread()) {
+			writer = shared.poll();
+		} else {
+			writer = cached.get();
+			if (writer != null) {
+				cached.set(null);
+			}
+		}
+
+		if (writer == null) {
+			return new StringBuilderWriter();
+		}
+		writer.builder.setLength(0);
+		return writer;
+	}
+
+	/**
+	 * Return a writer obtained from <see cref="acquire"/>; it must not be used
+	 * afterwards.
+	 *
+	 * @return The text that was written.
+	 */
+	public static String release(StringBuilderWriter writer) {
+		if (writer == null) {
+			throw new IllegalArgumentException("writer");
+		}
+
+		String result = writer.builder.toString();
+		if (writer.builder.capacity() <= MaxCachedCapacity) {
+			if (isVirtualThread()) {
+				shared.offer(writer);
+			} else {
+				cached.set(writer);
+			}
+		}
+		return result;
+	}
+
+	private static boolean isVirtualThread() {
+		if (isVirtual == null) {
+			return false;
+		}
+
+		try {
+			return (boolean) isVirtual.invokeExact(Thread.currentThread());
+		} catch (Throwable e) {
+			return false;
+		}
+	}
+
+	private static MethodHandle findIsVirtual() {
+		try {
+			return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual",
+					MethodType.methodType(boolean.class));
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The underlying builder, which callers may change directly, for example to
+	 * insert padding in front of text that has already been written.
+	 */
+	public StringBuilder getBuilder() {
+		return builder;
+	}
+
+	@Override
+	public void write(int c) {
+		builder.append((char) c);
+	}
+
+	@Override
+	public void write(char[] buffer, int offset, int length) {
+		builder.append(buffer, offset, length);
+	}
+
+	@Override
+	public void write(String str) {
+		builder.append(str);
+	}
+
+	@Override
+	public void write(String str, int offset, int length) {
+		builder.append(str, offset, offset + length);
+	}
+
+	@Override
+	public StringBuilderWriter append(CharSequence csq) {
+		builder.append(csq);
+		return this;
+	}
+
+	@Override
+	public StringBuilderWriter append(CharSequence csq, int start, int end) {
+		builder.append(csq, start, end);
+		return this;
+	}
+
+	@Override
+	public StringBuilderWriter append(char c) {
+		builder.append(c);
+		return this;
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public String toString() {
+		return builder.toString();
+	}
+}
@@ -0,0 +1,90 @@
+package serilogj.formatting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes epoch-nanosecond timestamps as ISO-8601 with seven fractional digits
+ * and the offset of the configured zone, e.g.
+ * <code>2016-06-07T13:44:57.8532799+02:00</code>. This is the round-trip
+ * format Serilog uses, which Seq understands.
+ * 
+ * Each thread caches the text up to and including the seconds, together with
+ * the offset, so for consecutive events in the same second only the
+ * fractional digits are rewritten. Instances are safe for concurrent use.
+ */
+public final class TimestampWriter {
+	private static final DateTimeFormatter SecondsFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+	private static final int FractionDigits = 7;
+	private static final long NanosPerSecond = 1_000_000_000L;
+	private static final int NanosPerFractionUnit = 100;
+
+	private final ZoneId zone;
+	private final ThreadLocal<Cache> caches = ThreadLocal.withInitial(Cache::new);
+
+	public TimestampWriter(ZoneId zone) {
+		if (zone == null) {
+			throw new IllegalArgumentException("zone");
+		}
+
+		this.zone = zone;
+	}
+
+	public void write(Writer output, long epochNanos) throws IOException {
+		write(output, Math.floorDiv(epochNanos, NanosPerSecond), (int) Math.floorMod(epochNanos, NanosPerSecond));
+	}
+
+	/**
+	 * Writes the time <paramref name="nanoOfSecond"/> nanoseconds past
+	 * <paramref name="epochSecond"/>; unlike epoch nanoseconds, this covers
+	 * every year <see cref="LocalDateTime"/> can represent.
+	 */
+	public void write(Writer output, long epochSecond, int nanoOfSecond) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+		if (nanoOfSecond < 0 || nanoOfSecond >= NanosPerSecond) {
+			throw new IllegalArgumentException("nanoOfSecond");
+		}
+
+		long second = epochSecond;
+		int fraction = nanoOfSecond / NanosPerFractionUnit;
+
+		Cache cache = caches.get();
+		if (cache.buffer == null || cache.second != second) {
+			cache.update(second, zone);
+		}
+
+		char[] buffer = cache.buffer;
+		for (int i = cache.fractionStart + FractionDigits - 1; i >= cache.fractionStart; i--) {
+			buffer[i] = (char) ('0' + fraction % 10);
+			fraction /= 10;
+		}
+
+		output.write(buffer, 0, buffer.length);
+	}
+
+	private static class Cache {
+		private long second;
+		private char[] buffer;
+		private int fractionStart;
+
+		private void update(long second, ZoneId zone) {
+			ZoneOffset offset = zone.getRules().getOffset(Instant.ofEpochSecond(second));
+			String seconds = SecondsFormatter.format(LocalDateTime.ofEpochSecond(second, 0, offset));
+			String offsetId = offset.getId();
+
+			buffer = new char[seconds.length() + 1 + FractionDigits + offsetId.length()];
+			seconds.getChars(0, seconds.length(), buffer, 0);
+			buffer[seconds.length()] = '.';
+			fractionStart = seconds.length() + 1;
+			offsetId.getChars(0, offsetId.length(), buffer, fractionStart + FractionDigits);
+			this.second = second;
+		}
+	}
+}
@@ -0,0 +1,270 @@
+package serilogj.formatting.display;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+
+import serilogj.debugging.SelfLog;
+import serilogj.events.LogEvent;
+import serilogj.events.LogEventLevel;
+import serilogj.events.LogEventPropertyValue;
+import serilogj.events.MessageTemplate;
+import serilogj.events.ScalarValue;
+import serilogj.formatting.FormatCache;
+import serilogj.formatting.StackTraceReferences;
+import serilogj.formatting.StringBuilderWriter;
+import serilogj.parsing.Alignment;
+import serilogj.parsing.MessageTemplateToken;
+import serilogj.parsing.PropertyToken;
+
+/**
+ * An output template compiled into one render step per token. The steps read
+ * straight from the <see cref="LogEvent"/>, so formatting an event doesn't
+ * build the map of <see cref="OutputProperties"/>; the output is the same as
+ * rendering the template against that map, except that missing properties
+ * render nothing.
+ */
+public final class CompiledOutputTemplate {
+	interface Step {
+		void render(LogEvent logEvent, Writer output) throws IOException;
+	}
+
+	/**
+	 * Codes written ahead of each part of the output, such as the colors of a
+	 * console. They don't count towards alignment widths.
+	 */
+	public interface Style {
+		/**
+		 * Written ahead of text, the timestamp, level and properties.
+		 */
+		String base(LogEventLevel level);
+
+		/**
+		 * Written ahead of the exception, and of each property in the message.
+		 */
+		String highlight(LogEventLevel level);
+	}
+
+	private static final LogEventLevelValue[] LevelValues = new LogEventLevelValue[LogEventLevel.values().length];
+
+	static {
+		for (LogEventLevel level : LogEventLevel.values()) {
+			LevelValues[level.ordinal()] = new LogEventLevelValue(level);
+		}
+	}
+
+	private final Step[] steps;
+	private final Style style;
+	private final StackTraceReferences stackTraces = new StackTraceReferences();
+
+	public CompiledOutputTemplate(MessageTemplate outputTemplate, Locale locale) {
+		this(outputTemplate, locale, null);
+	}
+
+	/**
+	 * Compile <paramref name="outputTemplate"/>, writing the codes of
+	 * <paramref name="style"/> ahead of each part of the output if it isn't
+	 * null.
+	 */
+	public CompiledOutputTemplate(MessageTemplate outputTemplate, Locale locale, Style style) {
+		if (outputTemplate == null) {
+			throw new IllegalArgumentException("outputTemplate");
+		}
+
+		this.style = style;
+		ArrayList<Step> compiled = new ArrayList<Step>();
+		for (MessageTemplateToken token : outputTemplate.getTokens()) {
+			compiled.add(style == null ? compile(token, locale) : styled(token, compile(token, locale), locale));
+		}
+		steps = compiled.toArray(new Step[0]);
+	}
+
+	public void render(LogEvent logEvent, Writer output) throws IOException {
+		if (logEvent == null) {
+			throw new IllegalArgumentException("logEvent");
+		}
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+
+		for (Step step : steps) {
+			step.render(logEvent, output);
+		}
+	}
+
+	private Step compile(MessageTemplateToken token, Locale locale) {
+		if (!(token instanceof PropertyToken)) {
+			return literal(token.toString());
+		}
+
+		PropertyToken property = (PropertyToken) token;
+		Alignment alignment = property.getAlignment();
+		String format = property.getFormat();
+		switch (property.getPropertyName()) {
+		case OutputProperties.MessagePropertyName:
+			return (logEvent, output) -> {
+				if (alignment == null) {
+					logEvent.renderMessage(output, locale);
+				} else if (output instanceof StringBuilderWriter) {
+					StringBuilder builder = ((StringBuilderWriter) output).getBuilder();
+					int start = builder.length();
+					logEvent.renderMessage(output, locale);
+					Padding.apply(builder, start, alignment);
+				} else {
+					Padding.apply(output, logEvent.renderMessage(locale), alignment);
+				}
+			};
+		case OutputProperties.TimestampPropertyName:
+			return timestamp(format, alignment, locale);
+		case OutputProperties.LevelPropertyName:
+			return (logEvent, output) -> LevelValues[logEvent.getLevel().ordinal()].render(output, alignment, format);
+		case OutputProperties.NewLinePropertyName:
+			return literal(padded(Casing.format(System.lineSeparator(), format), alignment));
+		case OutputProperties.ExceptionPropertyName:
+			return exception(format, alignment);
+		default:
+			return property(property, locale);
+		}
+	}
+
+	private Step styled(MessageTemplateToken token, Step step, Locale locale) {
+		if (!(token instanceof PropertyToken)) {
+			return (logEvent, output) -> {
+				output.write(style.base(logEvent.getLevel()));
+				step.render(logEvent, output);
+			};
+		}
+
+		PropertyToken property = (PropertyToken) token;
+		switch (property.getPropertyName()) {
+		case OutputProperties.MessagePropertyName:
+			return styledMessage(property.getAlignment(), locale);
+		case OutputProperties.ExceptionPropertyName:
+			return (logEvent, output) -> {
+				output.write(style.highlight(logEvent.getLevel()));
+				step.render(logEvent, output);
+			};
+		default:
+			return (logEvent, output) -> {
+				output.write(style.base(logEvent.getLevel()));
+				step.render(logEvent, output);
+			};
+		}
+	}
+
+	// Highlights the properties within the message, so the message is
+	// rendered token by token rather than by the event
+	private Step styledMessage(Alignment alignment, Locale locale) {
+		return (logEvent, output) -> {
+			if (alignment == null) {
+				renderStyledMessage(logEvent, output, locale);
+				return;
+			}
+
+			StringBuilderWriter buffer = output instanceof StringBuilderWriter ? (StringBuilderWriter) output
+					: StringBuilderWriter.acquire();
+			StringBuilder builder = buffer.getBuilder();
+			int start = builder.length();
+			int codes = renderStyledMessage(logEvent, buffer, locale);
+			// Widened by the length of the codes, which take up no room on screen
+			Padding.apply(builder, start, new Alignment(alignment.getDirection(), alignment.getWidth() + codes));
+			if (buffer != output) {
+				output.write(StringBuilderWriter.release(buffer));
+			}
+		};
+	}
+
+	// Returns the number of characters of codes written
+	private int renderStyledMessage(LogEvent logEvent, Writer output, Locale locale) throws IOException {
+		String base = style.base(logEvent.getLevel());
+		String highlight = style.highlight(logEvent.getLevel());
+		Map<String, LogEventPropertyValue> properties = logEvent.getProperties();
+		int codes = 0;
+		for (MessageTemplateToken token : logEvent.getMessageTemplate().getTokens()) {
+			if (token instanceof PropertyToken) {
+				output.write(highlight);
+				codes += highlight.length();
+				PropertyToken property = (PropertyToken) token;
+				LogEventPropertyValue value = properties.get(property.getPropertyName());
+				if (value == null) {
+					output.write(property.toString());
+				} else {
+					property.renderValue(value, output, locale);
+				}
+			} else {
+				output.write(base);
+				codes += base.length();
+				token.render(properties, output, locale);
+			}
+		}
+		return codes;
+	}
+
+	private static Step literal(String text) {
+		return (logEvent, output) -> output.write(text);
+	}
+
+	private static Step timestamp(String format, Alignment alignment, Locale locale) {
+		if (format == null || format.equals("")) {
+			return (logEvent, output) -> Padding.apply(output, logEvent.getTimestamp().toString(), alignment);
+		}
+
+		try {
+			// Validate the pattern once rather than on every event
+			FormatCache.getDateFormat(format, locale);
+		} catch (IllegalArgumentException e) {
+			SelfLog.writeLine("Invalid date format \"%s\", exception %s", format, e.getMessage());
+			return timestamp(null, alignment, locale);
+		}
+
+		// Holds the instance the cache confined to each thread, saving the
+		// lookup on every event
+		ThreadLocal<SimpleDateFormat> formatter = ThreadLocal
+				.withInitial(() -> FormatCache.getDateFormat(format, locale));
+		return (logEvent, output) -> Padding.apply(output, formatter.get().format(logEvent.getTimestamp()),
+				alignment);
+	}
+
+	private Step exception(String format, Alignment alignment) {
+		String none = padded(Casing.format("", format), alignment);
+		return (logEvent, output) -> {
+			if (logEvent.getException() == null) {
+				output.write(none);
+				return;
+			}
+
+			String text = OutputProperties.renderException(logEvent, stackTraces);
+			Padding.apply(output, Casing.format(text, format), alignment);
+		};
+	}
+
+	private static Step property(PropertyToken token, Locale locale) {
+		String name = token.getPropertyName();
+		String format = token.getFormat();
+		Alignment alignment = token.getAlignment();
+		return (logEvent, output) -> {
+			LogEventPropertyValue value = logEvent.getProperties().get(name);
+			if (value == null) {
+				return;
+			}
+
+			// Strings are written as literals, with 'u' and 'w' casing formats
+			if (value instanceof ScalarValue && ((ScalarValue) value).getValue() instanceof String) {
+				Padding.apply(output, Casing.format((String) ((ScalarValue) value).getValue(), format), alignment);
+			} else if (value instanceof LogEventLevelValue) {
+				((LogEventLevelValue) value).render(output, alignment, format);
+			} else {
+				token.renderValue(value, output, locale);
+			}
+		};
+	}
+
+	private static String padded(String value, Alignment alignment) {
+		StringBuilder output = new StringBuilder(value);
+		Padding.apply(output, 0, alignment);
+		return output.toString();
+	}
+}
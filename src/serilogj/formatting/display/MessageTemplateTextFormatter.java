@@ -6,17 +6,21 @@ import serilogj.events.*;
 import serilogj.formatting.*;
 import serilogj.parsing.*;
 
+/**
+ * Formats events as text using an output template such as
+ * <code>"{Timestamp} [{Level}] {Message}{NewLine}{Exception}"</code>. The
+ * template is compiled once into a <see cref="CompiledOutputTemplate"/>, rather
+ * than interpreted against a map of output properties for every event.
+ */
 public class MessageTemplateTextFormatter implements ITextFormatter {
-	private MessageTemplate outputTemplate;
-	private Locale locale;
+	private final CompiledOutputTemplate outputTemplate;
 
 	public MessageTemplateTextFormatter(String outputTemplate, Locale locale) {
 		if (outputTemplate == null) {
 			throw new IllegalArgumentException("outputTemplate");
 		}
 
-		this.outputTemplate = new MessageTemplateParser().parse(outputTemplate);
-		this.locale = locale;
+		this.outputTemplate = new CompiledOutputTemplate(new MessageTemplateParser().parse(outputTemplate), locale);
 	}
 
 	@Override
@@ -28,38 +32,6 @@ public class MessageTemplateTextFormatter implements ITextFormatter {
 			throw new IllegalArgumentException("output");
 		}
 
-		Map<String, LogEventPropertyValue> properties = OutputProperties.GetOutputProperties(logEvent);
-		for (MessageTemplateToken token : outputTemplate.getTokens()) {
-			if (!(token instanceof PropertyToken)) {
-				token.render(properties, output, locale);
-				continue;
-			}
-			PropertyToken pt = (PropertyToken) token;
-
-			// First variation from normal rendering - if a property is missing,
-			// don't render anything (message templates render the raw token
-			// here).
-			if (!properties.containsKey(pt.getPropertyName())) {
-				continue;
-			}
-
-			LogEventPropertyValue value = properties.get(pt.getPropertyName());
-			ScalarValue sv = value instanceof ScalarValue ? (ScalarValue) value : null;
-
-			// Second variation; if the value is a scalar string, use literal
-			// rendering and support some additional formats: 'u' for uppercase
-			// and 'w' for lowercase.
-			if (sv != null && sv.getValue() instanceof String) {
-				Map<String, LogEventPropertyValue> overridden = new HashMap<String, LogEventPropertyValue>();
-				overridden.put(pt.getPropertyName(), new LiteralStringValue((String) sv.getValue()));
-				token.render(overridden, output, locale);
-			} else if (value instanceof LogEventLevelValue) {
-				((LogEventLevelValue) value).render(output, pt.getAlignment(), pt.getFormat());
-			} else {
-				token.render(properties, output, locale);
-			}
-
-		}
+		outputTemplate.render(logEvent, output);
 	}
-
 }
@@ -1,13 +1,13 @@
 package serilogj.formatting.display;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
+import serilogj.events.ExceptionValue;
 import serilogj.events.LogEvent;
 import serilogj.events.LogEventPropertyValue;
 import serilogj.events.ScalarValue;
+import serilogj.formatting.StackTraceReferences;
 
 // Copyright 2013-2015 Serilog Contributors
 //
@@ -53,6 +53,8 @@ public class OutputProperties {
 	 */
 	public static final String ExceptionPropertyName = "Exception";
 
+	private static final StackTraceReferences DefaultStackTraces = new StackTraceReferences();
+
 	/**
 	 * Create properties from the provided log event.
 	 * 
@@ -61,6 +63,21 @@ public class OutputProperties {
 	 * @return A dictionary with properties representing the log event.
 	 */
 	public static Map<String, LogEventPropertyValue> GetOutputProperties(LogEvent logEvent) {
+		return GetOutputProperties(logEvent, DefaultStackTraces);
+	}
+
+	/**
+	 * Create properties from the provided log event, rendering its exception
+	 * through <paramref name="stackTraces"/>.
+	 * 
+	 * @param logEvent
+	 *            The log event.
+	 * @param stackTraces
+	 *            The stack trace references of the caller.
+	 * @return A dictionary with properties representing the log event.
+	 */
+	public static Map<String, LogEventPropertyValue> GetOutputProperties(LogEvent logEvent,
+			StackTraceReferences stackTraces) {
 		Map<String, LogEventPropertyValue> result = new HashMap<String, LogEventPropertyValue>();
 		logEvent.getProperties().forEach((k, v) -> result.put(k, v));
 
@@ -78,14 +95,30 @@ public class OutputProperties {
 
 		String exception = "";
 		if (logEvent.getException() != null) {
-			exception = logEvent.getException() + System.lineSeparator();
-			StringWriter sw = new StringWriter();
-			PrintWriter pw = new PrintWriter(sw);
-			logEvent.getException().printStackTrace(pw);
-			exception += sw.toString();
+			exception = renderException(logEvent, stackTraces);
 		}
 
 		result.put(ExceptionPropertyName, new LiteralStringValue(exception));
 		return result;
 	}
+
+	/**
+	 * The text of the Exception property of <paramref name="logEvent"/>,
+	 * which must have an exception.
+	 */
+	public static String renderException(LogEvent logEvent, StackTraceReferences stackTraces) {
+		// Prefer the bounded form captured by ExceptionDetailEnricher
+		LogEventPropertyValue detail = logEvent.getProperties().get(ExceptionValue.PropertyName);
+		if (detail instanceof ExceptionValue) {
+			return detail.toString();
+		}
+
+		Throwable exception = logEvent.getException();
+		String stackTrace = stackTraces.render(exception);
+		// References already start with the message of the exception
+		if (stackTraces.isReferencing()) {
+			return stackTrace;
+		}
+		return exception + System.lineSeparator() + stackTrace;
+	}
 }
@@ -35,4 +35,37 @@ public class Padding {
 			}
 		}
 	}
+
+	/**
+	 * Pads the text written to <paramref name="output"/> since
+	 * <paramref name="start"/> in place, so the value doesn't have to be
+	 * rendered into a separate buffer first.
+	 */
+	public static void apply(StringBuilder output, int start, Alignment alignment) {
+		if (alignment == null) {
+			return;
+		}
+
+		int pad = alignment.getWidth() - (output.length() - start);
+		if (pad <= 0) {
+			return;
+		}
+
+		if (alignment.getDirection() == AlignmentDirection.Right) {
+			// Shift the value right and fill the gap, without an intermediate
+			// array for the spaces
+			int end = output.length();
+			output.setLength(end + pad);
+			for (int i = end - 1; i >= start; i--) {
+				output.setCharAt(i + pad, output.charAt(i));
+			}
+			for (int i = start; i < start + pad; i++) {
+				output.setCharAt(i, ' ');
+			}
+		} else {
+			for (int i = 0; i < pad; i++) {
+				output.append(' ');
+			}
+		}
+	}
 }
@@ -1,12 +1,10 @@
 package serilogj.formatting.json;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.io.Writer;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
@@ -16,15 +14,26 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+import serilogj.events.BooleanScalarValue;
+import serilogj.events.DestructuredValue;
 import serilogj.events.DictionaryValue;
+import serilogj.events.DoubleScalarValue;
+import serilogj.events.ExceptionValue;
+import serilogj.events.IntScalarValue;
 import serilogj.events.LogEvent;
 import serilogj.events.LogEventProperty;
 import serilogj.events.LogEventPropertyValue;
+import serilogj.events.LongScalarValue;
 import serilogj.events.ScalarValue;
 import serilogj.events.SequenceValue;
 import serilogj.events.StructureValue;
 import serilogj.formatting.ITextFormatter;
-import serilogj.parsing.MessageTemplateToken;
+import serilogj.formatting.NumericWriter;
+import serilogj.formatting.StackTraceReferences;
+import serilogj.formatting.StringBuilderWriter;
+import serilogj.formatting.TimestampWriter;
+import serilogj.metrics.Histogram;
+import serilogj.metrics.Metrics;
 import serilogj.parsing.PropertyToken;
 
 // Copyright 2013-2015 Serilog Contributors
@@ -46,6 +55,10 @@ import serilogj.parsing.PropertyToken;
  * safe for concurrent access by multiple threads.
  */
 public class JsonFormatter implements ITextFormatter {
+	private static final Histogram FormatTime = Metrics.histogram("formatter.json");
+	private static final String[] Escapes = createEscapes();
+	private static final DateTimeFormatter TemporalFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
 	@FunctionalInterface
 	interface WriterConsumer {
 		void apply(Object value, Boolean quote, Writer writer) throws IOException;
@@ -56,6 +69,8 @@ public class JsonFormatter implements ITextFormatter {
 	private boolean renderMessage;
 	private Map<Class<?>, WriterConsumer> literalWriters;
 	private Locale locale;
+	private TimestampWriter timestampWriter = new TimestampWriter(ZoneId.systemDefault());
+	private StackTraceReferences stackTraces = new StackTraceReferences();
 
 	/**
 	 * Construct a <see cref="JsonFormatter"/>.
@@ -83,18 +98,29 @@ public class JsonFormatter implements ITextFormatter {
 
 		literalWriters = new HashMap<Class<?>, WriterConsumer>();
 		literalWriters.put(boolean.class, (v, q, o) -> writeBoolean(v, q, o));
+		literalWriters.put(Boolean.class, (v, q, o) -> writeBoolean(v, q, o));
 		literalWriters.put(Character.class, (v, q, o) -> writeString(v, q, o));
-		literalWriters.put(Byte.class, (v, q, o) -> writeToString(v, q, o));
-		literalWriters.put(Short.class, (v, q, o) -> writeToString(v, q, o));
-		literalWriters.put(Integer.class, (v, q, o) -> writeToString(v, q, o));
-		literalWriters.put(Long.class, (v, q, o) -> writeToString(v, q, o));
+		literalWriters.put(Byte.class, (v, q, o) -> writeInteger(v, q, o));
+		literalWriters.put(Short.class, (v, q, o) -> writeInteger(v, q, o));
+		literalWriters.put(Integer.class, (v, q, o) -> writeInteger(v, q, o));
+		literalWriters.put(Long.class, (v, q, o) -> writeInteger(v, q, o));
 		literalWriters.put(Float.class, (v, q, o) -> writeFloat(v, q, o));
 		literalWriters.put(Double.class, (v, q, o) -> writeFloat(v, q, o));
 		literalWriters.put(String.class, (v, q, o) -> writeString(v, q, o));
 		literalWriters.put(ScalarValue.class, (v, q, o) -> writeLiteral(((ScalarValue) v).getValue(), q, o));
+		literalWriters.put(IntScalarValue.class,
+				(v, q, o) -> NumericWriter.write(o, ((IntScalarValue) v).getIntValue()));
+		literalWriters.put(LongScalarValue.class,
+				(v, q, o) -> NumericWriter.write(o, ((LongScalarValue) v).getLongValue()));
+		literalWriters.put(DoubleScalarValue.class,
+				(v, q, o) -> writeDouble(((DoubleScalarValue) v).getDoubleValue(), o));
+		literalWriters.put(BooleanScalarValue.class,
+				(v, q, o) -> NumericWriter.write(o, ((BooleanScalarValue) v).getBooleanValue()));
 		literalWriters.put(SequenceValue.class, (v, q, o) -> writeSequence(v, q, o));
 		literalWriters.put(DictionaryValue.class, (v, q, o) -> writeDictionary(v, q, o));
 		literalWriters.put(StructureValue.class, (v, q, o) -> writeStructure(v, q, o));
+		literalWriters.put(DestructuredValue.class, (v, q, o) -> writeDestructured((DestructuredValue) v, q, o));
+		literalWriters.put(ExceptionValue.class, (v, q, o) -> writeException((ExceptionValue) v, o));
 		literalWriters.put(Date.class, (v, q, o) -> writeDate(v, q, o));
 		literalWriters.put(LocalDate.class, (v, q, o) -> writeTemporal(v, q, o));
 		literalWriters.put(LocalDateTime.class, (v, q, o) -> writeTemporal(v, q, o));
@@ -110,11 +136,26 @@ public class JsonFormatter implements ITextFormatter {
 			throw new IllegalArgumentException("output");
 		}
 
+		if (!Metrics.isEnabled()) {
+			writeEvent(logEvent, output);
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			writeEvent(logEvent, output);
+		} finally {
+			FormatTime.record(System.nanoTime() - start);
+		}
+	}
+
+	private void writeEvent(LogEvent logEvent, Writer output) throws IOException {
 		if (!omitEnclosingObject) {
 			output.write("{");
 		}
 
-		writeJsonProperty("Timestamp", logEvent.getTimestamp(), output, false);
+		output.write("\"Timestamp\":");
+		writeTimestamp(logEvent.getTimestampSeconds(), logEvent.getTimestampNanoOfSecond(), output);
 		writeJsonProperty("Level", logEvent.getLevel(), output, true);
 		writeJsonProperty("MessageTemplate", logEvent.getMessageTemplate(), output, true);
 		if (renderMessage) {
@@ -123,31 +164,27 @@ public class JsonFormatter implements ITextFormatter {
 		}
 
 		Throwable ex = logEvent.getException();
+		String omitted = null;
 		if (ex != null) {
-			StringWriter sw = new StringWriter();
-			PrintWriter pw = new PrintWriter(sw);
-			ex.printStackTrace(pw);
-			writeJsonProperty("Exception", sw.toString(), output, true);
-		}
-
-		if (logEvent.getProperties().size() != 0) {
-			writeProperties(logEvent.getProperties(), output);
+			// Prefer the bounded form captured by ExceptionDetailEnricher: the
+			// Exception string is kept for consumers that expect it, and the
+			// structured form is written beside it rather than under Properties
+			LogEventPropertyValue detail = logEvent.getProperties().get(ExceptionValue.PropertyName);
+			if (detail instanceof ExceptionValue) {
+				writeJsonProperty("Exception", detail.toString(), output, true);
+				output.write(",\"" + ExceptionValue.PropertyName + "\":");
+				writeException((ExceptionValue) detail, output);
+				omitted = ExceptionValue.PropertyName;
+			} else {
+				writeJsonProperty("Exception", stackTraces.render(ex), output, true);
+			}
 		}
 
-		ArrayList<PropertyToken> tokensWithFormat = new ArrayList<PropertyToken>();
-		for (MessageTemplateToken token : logEvent.getMessageTemplate().getTokens()) {
-			if (!(token instanceof PropertyToken)) {
-				continue;
-			}
-			PropertyToken pt = (PropertyToken) token;
-			if (pt.getFormat() == null || pt.getFormat().equals("")) {
-				continue;
-			}
-			tokensWithFormat.add(pt);
+		if (logEvent.getProperties().size() > (omitted == null ? 0 : 1)) {
+			writeProperties(logEvent.getProperties(), omitted, output);
 		}
 
-		// We do not support renderings (yet)
-		tokensWithFormat.clear();
+		ArrayList<PropertyToken> tokensWithFormat = logEvent.getMessageTemplate().getTokensWithFormat();
 		if (tokensWithFormat.size() > 0) {
 			writeRenderings(tokensWithFormat, logEvent.getProperties(), output);
 		}
@@ -161,13 +198,60 @@ public class JsonFormatter implements ITextFormatter {
 	private void writeRenderings(ArrayList<PropertyToken> tokensWithFormat,
 			Map<String, LogEventPropertyValue> properties, Writer output) throws IOException {
 		output.write(",\"Renderings\":{");
+
+		// Grouped by property name, in order of first occurrence; templates
+		// have few formatted tokens, so a scan beats building a map
+		String delim = "";
+		for (int i = 0; i < tokensWithFormat.size(); i++) {
+			String name = tokensWithFormat.get(i).getPropertyName();
+			if (isRenderedBefore(tokensWithFormat, i, name)) {
+				continue;
+			}
+
+			output.write(delim);
+			delim = ",";
+			writeString(name, false, output);
+			output.write(":[");
+
+			String formatDelim = "";
+			for (int j = i; j < tokensWithFormat.size(); j++) {
+				PropertyToken token = tokensWithFormat.get(j);
+				if (!token.getPropertyName().equals(name)) {
+					continue;
+				}
+
+				output.write(formatDelim);
+				formatDelim = ",";
+				output.write("{\"Format\":");
+				writeString(token.getFormat(), false, output);
+				output.write(",\"Rendering\":");
+				StringBuilderWriter rendering = StringBuilderWriter.acquire();
+				token.render(properties, rendering, locale);
+				writeString(StringBuilderWriter.release(rendering), false, output);
+				output.write("}");
+			}
+			output.write("]");
+		}
 		output.write("}");
 	}
 
-	private void writeProperties(Map<String, LogEventPropertyValue> properties, Writer output) throws IOException {
+	private static boolean isRenderedBefore(ArrayList<PropertyToken> tokens, int index, String name) {
+		for (int i = 0; i < index; i++) {
+			if (tokens.get(i).getPropertyName().equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeProperties(Map<String, LogEventPropertyValue> properties, String omitted, Writer output)
+			throws IOException {
 		output.write(",\"Properties\":{");
 		boolean delim = false;
 		for (Map.Entry<String, LogEventPropertyValue> property : properties.entrySet()) {
+			if (omitted != null && omitted.equals(property.getKey())) {
+				continue;
+			}
 			writeJsonProperty(property.getKey(), property.getValue(), output, delim);
 			delim = true;
 		}
@@ -179,7 +263,7 @@ public class JsonFormatter implements ITextFormatter {
 			output.write(",");
 		}
 		output.write("\"");
-		output.write(name);
+		escape(name, 0, output);
 		output.write("\":");
 		writeLiteral(value, false, output);
 	}
@@ -200,15 +284,49 @@ public class JsonFormatter implements ITextFormatter {
 		}
 	}
 
+	private void writeInteger(Object value, Boolean quote, Writer output) throws IOException {
+		if (quote) {
+			output.write("\"");
+		}
+
+		NumericWriter.write(output, ((Number) value).longValue());
+
+		if (quote) {
+			output.write("\"");
+		}
+	}
+
 	private void writeString(Object value, Boolean quote, Writer output) throws IOException {
-		String content = escape(value.toString());
 		output.write("\"");
-		output.write(content);
+		escape(value.toString(), 0, output);
 		output.write("\"");
 	}
 
 	private void writeFloat(Object value, Boolean quote, Writer output) throws IOException {
-		output.write(String.format(Locale.ROOT, "%f", value));
+		if (value instanceof Double) {
+			writeDouble((Double) value, output);
+			return;
+		}
+
+		float single = (Float) value;
+		if (Float.isNaN(single) || Float.isInfinite(single)) {
+			output.write("\"");
+			NumericWriter.write(output, single);
+			output.write("\"");
+			return;
+		}
+		NumericWriter.write(output, single);
+	}
+
+	private void writeDouble(double value, Writer output) throws IOException {
+		// JSON has no representation for these, so they're written as strings
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			output.write("\"");
+			NumericWriter.write(output, value);
+			output.write("\"");
+			return;
+		}
+		NumericWriter.write(output, value);
 	}
 
 	private void writeLiteral(Object value, Boolean quote, Writer output) throws IOException {
@@ -273,17 +391,99 @@ public class JsonFormatter implements ITextFormatter {
 		output.write("}");
 	}
 
+	// Written exactly as the equivalent structure, sequence or dictionary
+	private void writeDestructured(DestructuredValue value, Boolean quote, Writer output) throws IOException {
+		Object[] items = value.getItems();
+		switch (value.getKind()) {
+		case Structure:
+			output.write("{");
+			String delim = "";
+			String typeTag = value.getTypeTag();
+			if (typeTag != null && !typeTag.equals("")) {
+				writeString("_typeTag", quote, output);
+				output.write(":");
+				writeLiteral(typeTag, quote, output);
+				delim = ",";
+			}
+
+			String[] names = value.getNames();
+			for (int i = 0; i < items.length; i++) {
+				output.write(delim);
+				delim = ",";
+				writeString(names[i], quote, output);
+				output.write(":");
+				writeLiteral(items[i], quote, output);
+			}
+			output.write("}");
+			break;
+		case Sequence:
+			output.write("[");
+			for (int i = 0; i < items.length; i++) {
+				if (i > 0) {
+					output.write(",");
+				}
+				writeLiteral(items[i], quote, output);
+			}
+			output.write("]");
+			break;
+		case Dictionary:
+			output.write("{");
+			for (int i = 0; i < items.length; i += 2) {
+				if (i > 0) {
+					output.write(",");
+				}
+				writeLiteral(items[i], quote, output);
+				output.write(":");
+				writeLiteral(items[i + 1], quote, output);
+			}
+			output.write("}");
+			break;
+		}
+	}
+
+	private void writeException(ExceptionValue value, Writer output) throws IOException {
+		output.write("{\"Type\":");
+		writeString(value.getType(), false, output);
+		output.write(",\"Message\":");
+		writeLiteral(value.getMessage(), false, output);
+		output.write(",\"Frames\":[");
+		String delim = "";
+		for (StackTraceElement frame : value.getFrames()) {
+			output.write(delim);
+			delim = ",";
+			writeString(frame, false, output);
+		}
+		output.write("]");
+		if (value.getOmittedFrames() > 0) {
+			output.write(",\"OmittedFrames\":");
+			NumericWriter.write(output, value.getOmittedFrames());
+		}
+		if (value.getCause() != null) {
+			output.write(",\"Cause\":");
+			writeException(value.getCause(), output);
+		}
+		if (value.getOmittedCauses() > 0) {
+			output.write(",\"OmittedCauses\":");
+			NumericWriter.write(output, value.getOmittedCauses());
+		}
+		output.write("}");
+	}
+
 	private void writeDate(Object value, Boolean quote, Writer output) throws IOException {
-		SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+		// Split rather than scaled to nanoseconds, which overflows outside 1677-2262
+		long millis = ((Date) value).getTime();
+		writeTimestamp(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1_000_000, output);
+	}
+
+	private void writeTimestamp(long epochSecond, int nanoOfSecond, Writer output) throws IOException {
 		output.write("\"");
-		output.write(formatter.format(value));
+		timestampWriter.write(output, epochSecond, nanoOfSecond);
 		output.write("\"");
 	}
 
 	private void writeTemporal(Object value, Boolean quote, Writer output) throws IOException {
-		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
 		output.write("\"");
-		formatter.formatTo((TemporalAccessor) value, output);
+		TemporalFormat.formatTo((TemporalAccessor) value, output);
 		output.write("\"");
 	}
 
@@ -299,54 +499,85 @@ public class JsonFormatter implements ITextFormatter {
 			return null;
 		}
 
-		StringBuilder escapedResult = null;
+		int first = firstEscaped(s);
+		if (first == s.length()) {
+			return s;
+		}
+
+		StringBuilderWriter output = StringBuilderWriter.acquire();
+		try {
+			escape(s, first, output);
+		} catch (IOException e) {
+			// Not thrown by StringBuilderWriter
+		}
+		return StringBuilderWriter.release(output);
+	}
+
+	/**
+	 * Write <paramref name="s"/> to <paramref name="output"/> with JSON string
+	 * escaping, copying the runs between escaped characters in bulk.
+	 */
+	public static void escape(String s, Writer output) throws IOException {
+		if (output == null) {
+			throw new IllegalArgumentException("output");
+		}
+		if (s == null) {
+			return;
+		}
+
+		escape(s, 0, output);
+	}
+
+	private static void escape(String s, int from, Writer output) throws IOException {
+		int length = s.length();
 		int cleanSegmentStart = 0;
-		for (int i = 0; i < s.length(); ++i) {
+		for (int i = from; i < length; i++) {
 			char c = s.charAt(i);
-			if (c < (char) 32 || c == '\\' || c == '"') {
-
-				if (escapedResult == null) {
-					escapedResult = new StringBuilder();
-				}
+			if (c >= Escapes.length) {
+				continue;
+			}
+			String escaped = Escapes[c];
+			if (escaped == null) {
+				continue;
+			}
 
-				escapedResult.append(s.substring(cleanSegmentStart, i));
-				cleanSegmentStart = i + 1;
-
-				switch (c) {
-				case '"':
-					escapedResult.append("\\\"");
-					break;
-				case '\\':
-					escapedResult.append("\\\\");
-					break;
-				case '\n':
-					escapedResult.append("\\n");
-					break;
-				case '\r':
-					escapedResult.append("\\r");
-					break;
-				case '\f':
-					escapedResult.append("\\f");
-					break;
-				case '\t':
-					escapedResult.append("\\t");
-					break;
-				default:
-					escapedResult.append("\\u");
-					escapedResult.append(String.format("%04X", new Integer(c)));
-					break;
-				}
+			if (i > cleanSegmentStart) {
+				output.write(s, cleanSegmentStart, i - cleanSegmentStart);
 			}
+			output.write(escaped);
+			cleanSegmentStart = i + 1;
 		}
 
-		if (escapedResult != null) {
-			if (cleanSegmentStart != s.length()) {
-				escapedResult.append(s.substring(cleanSegmentStart));
-			}
+		if (cleanSegmentStart < length) {
+			output.write(s, cleanSegmentStart, length - cleanSegmentStart);
+		}
+	}
 
-			return escapedResult.toString();
+	private static int firstEscaped(String s) {
+		int length = s.length();
+		for (int i = 0; i < length; i++) {
+			char c = s.charAt(i);
+			if (c < Escapes.length && Escapes[c] != null) {
+				return i;
+			}
 		}
+		return length;
+	}
 
-		return s;
+	// The escape sequence for each ASCII character, or null if it is written
+	// as is; everything outside ASCII is written as is
+	private static String[] createEscapes() {
+		String[] escapes = new String[128];
+		char[] hex = "0123456789ABCDEF".toCharArray();
+		for (char c = 0; c < 32; c++) {
+			escapes[c] = new String(new char[] { '\\', 'u', '0', '0', hex[c >> 4], hex[c & 0xF] });
+		}
+		escapes['"'] = "\\\"";
+		escapes['\\'] = "\\\\";
+		escapes['\n'] = "\\n";
+		escapes['\r'] = "\\r";
+		escapes['\f'] = "\\f";
+		escapes['\t'] = "\\t";
+		return escapes;
 	}
 }
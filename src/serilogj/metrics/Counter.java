@@ -0,0 +1,31 @@
+package serilogj.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only increases until <see cref="Metrics.reset"/> is called.
+ * Increments are striped across cells, so many threads can update the same
+ * counter without contending.
+ */
+public final class Counter {
+	private final LongAdder value = new LongAdder();
+
+	Counter() {
+	}
+
+	public void increment() {
+		value.increment();
+	}
+
+	public void add(long amount) {
+		value.add(amount);
+	}
+
+	public long get() {
+		return value.sum();
+	}
+
+	void reset() {
+		value.reset();
+	}
+}
@@ -0,0 +1,55 @@
+package serilogj.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency distribution with fixed power-of-two buckets: bucket
+ * <code>i</code> counts durations in <code>[2^i, 2^(i+1))</code> nanoseconds,
+ * and the last bucket also takes everything longer. Recording is a bit scan
+ * and two striped additions; nothing is allocated and nothing is locked.
+ */
+public final class Histogram {
+	static final int BucketCount = 40;
+
+	private final LongAdder[] buckets = new LongAdder[BucketCount];
+	private final LongAdder sum = new LongAdder();
+
+	Histogram() {
+		for (int i = 0; i < BucketCount; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a duration, in nanoseconds. Negative durations count as zero.
+	 */
+	public void record(long nanos) {
+		if (nanos < 0) {
+			nanos = 0;
+		}
+		buckets[bucketOf(nanos)].increment();
+		sum.add(nanos);
+	}
+
+	public HistogramSnapshot snapshot() {
+		long[] counts = new long[BucketCount];
+		for (int i = 0; i < BucketCount; i++) {
+			counts[i] = buckets[i].sum();
+		}
+		return new HistogramSnapshot(counts, sum.sum());
+	}
+
+	// Concurrent recordings may be partly kept; this is only used to start a
+	// fresh measurement, where that doesn't matter
+	void reset() {
+		for (int i = 0; i < BucketCount; i++) {
+			buckets[i].reset();
+		}
+		sum.reset();
+	}
+
+	static int bucketOf(long nanos) {
+		int bucket = 63 - Long.numberOfLeadingZeros(nanos | 1);
+		return bucket < BucketCount ? bucket : BucketCount - 1;
+	}
+}
@@ -0,0 +1,72 @@
+package serilogj.metrics;
+
+/**
+ * The state of a <see cref="Histogram"/> at a point in time.
+ */
+public final class HistogramSnapshot {
+	private final long[] buckets;
+	private final long count;
+	private final long sum;
+
+	HistogramSnapshot(long[] buckets, long sum) {
+		this.buckets = buckets;
+		this.sum = sum;
+
+		long count = 0;
+		for (long bucket : buckets) {
+			count += bucket;
+		}
+		this.count = count;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * The total of all recorded durations, in nanoseconds.
+	 */
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * The mean duration in nanoseconds, or zero if nothing was recorded.
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * An upper bound for the given percentile, in nanoseconds: the exclusive
+	 * upper edge of the bucket holding it. Zero if nothing was recorded.
+	 * 
+	 * @param percentile
+	 *            Between 0 and 100.
+	 */
+	public long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile");
+		}
+		if (count == 0) {
+			return 0;
+		}
+
+		long rank = (long) Math.ceil(count * percentile / 100);
+		long seen = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if (seen >= rank && seen > 0) {
+				return 1L << (i + 1);
+			}
+		}
+		return 1L << buckets.length;
+	}
+
+	/**
+	 * The count in each bucket; see <see cref="Histogram"/> for the bounds.
+	 */
+	public long[] getBuckets() {
+		return buckets.clone();
+	}
+}
@@ -0,0 +1,224 @@
+package serilogj.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import serilogj.debugging.SelfLog;
+
+/**
+ * Instrumentation for the logging pipeline. Metrics are registered by name in
+ * a process-wide registry and can be read with <see cref="snapshot"/> or,
+ * once <see cref="registerMBean"/> has been called, over JMX.
+ *
+ * Collection is off by default. Instrumented code checks
+ * <see cref="isEnabled"/> before reading the clock, so while it is off the
+ * cost is a single volatile read per stage.
+ */
+public final class Metrics {
+	public static final String ObjectName = "serilogj:type=Metrics";
+
+	private static volatile boolean enabled;
+
+	private static final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+	private static final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+	private static final ConcurrentHashMap<String, LongSupplier> gauges = new ConcurrentHashMap<String, LongSupplier>();
+	// For each name handed out by instanceNameOf, the instance numbers in use;
+	// guarded by itself
+	private static final HashMap<String, BitSet> instanceNumbers = new HashMap<String, BitSet>();
+
+	private Metrics() {
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	/**
+	 * The counter called <paramref name="name"/>, created on first use.
+	 */
+	public static Counter counter(String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("name");
+		}
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * The histogram called <paramref name="name"/>, created on first use.
+	 */
+	public static Histogram histogram(String name) {
+		if (name == null) {
+			throw new IllegalArgumentException("name");
+		}
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	/**
+	 * Remove the histogram called <paramref name="name"/>, if it is still
+	 * <paramref name="histogram"/>.
+	 */
+	public static void removeHistogram(String name, Histogram histogram) {
+		if (name == null) {
+			throw new IllegalArgumentException("name");
+		}
+		histograms.remove(name, histogram);
+	}
+
+	/**
+	 * Register a value that is read when a snapshot is taken, such as a queue
+	 * depth. Replaces any gauge with the same name.
+	 */
+	public static void gauge(String name, LongSupplier value) {
+		if (name == null) {
+			throw new IllegalArgumentException("name");
+		}
+		if (value == null) {
+			throw new IllegalArgumentException("value");
+		}
+		gauges.put(name, value);
+	}
+
+	/**
+	 * Remove the gauge called <paramref name="name"/>, if it still reads
+	 * <paramref name="value"/>.
+	 */
+	public static void removeGauge(String name, LongSupplier value) {
+		if (name == null) {
+			throw new IllegalArgumentException("name");
+		}
+		gauges.remove(name, value);
+	}
+
+	/**
+	 * A short name for <paramref name="component"/> to use in metric names:
+	 * its simple class name, or the full one for anonymous classes, without
+	 * the per-run suffix of lambda classes.
+	 */
+	public static String nameOf(Object component) {
+		Class<?> type = component.getClass();
+		String name = type.getSimpleName();
+		if (name.isEmpty()) {
+			name = type.getName();
+		}
+
+		int lambda = name.indexOf("$$Lambda");
+		return lambda < 0 ? name : name.substring(0, lambda + "$$Lambda".length());
+	}
+
+	/**
+	 * A name for <paramref name="component"/> that no other live instance is
+	 * given: <see cref="nameOf"/> for the first instance of each name, and
+	 * that name followed by "-2", "-3" and so on for later ones. Call once per
+	 * instance, keep the result, and hand it back to
+	 * <see cref="releaseInstanceName"/> when the instance is closed so the
+	 * name can be reused.
+	 */
+	public static String instanceNameOf(Object component) {
+		String name = nameOf(component);
+		int instance;
+		synchronized (instanceNumbers) {
+			BitSet used = instanceNumbers.computeIfAbsent(name, n -> new BitSet());
+			instance = used.nextClearBit(0);
+			used.set(instance);
+		}
+		return instance == 0 ? name : name + "-" + (instance + 1);
+	}
+
+	/**
+	 * Free <paramref name="instanceName"/>, given to
+	 * <paramref name="component"/> by <see cref="instanceNameOf"/>. Call at
+	 * most once per name.
+	 */
+	public static void releaseInstanceName(Object component, String instanceName) {
+		if (instanceName == null) {
+			throw new IllegalArgumentException("instanceName");
+		}
+
+		String name = nameOf(component);
+		int instance = instanceName.length() == name.length() ? 0
+				: Integer.parseInt(instanceName.substring(name.length() + 1)) - 1;
+		synchronized (instanceNumbers) {
+			BitSet used = instanceNumbers.get(name);
+			if (used == null) {
+				return;
+			}
+			used.clear(instance);
+			if (used.isEmpty()) {
+				instanceNumbers.remove(name);
+			}
+		}
+	}
+
+	/**
+	 * Read every registered metric. Counters and histograms keep their values
+	 * whether or not collection is enabled.
+	 */
+	public static MetricsSnapshot snapshot() {
+		Map<String, Long> counterValues = new TreeMap<String, Long>();
+		counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+
+		Map<String, Long> gaugeValues = new TreeMap<String, Long>();
+		gauges.forEach((name, gauge) -> {
+			try {
+				gaugeValues.put(name, gauge.getAsLong());
+			} catch (RuntimeException ex) {
+				SelfLog.writeLine("Caught exception %s while reading gauge %s.", ex.getMessage(), name);
+			}
+		});
+
+		Map<String, HistogramSnapshot> histogramValues = new TreeMap<String, HistogramSnapshot>();
+		histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+
+		return new MetricsSnapshot(counterValues, gaugeValues, histogramValues);
+	}
+
+	/**
+	 * Set every counter and histogram back to zero, to start a fresh
+	 * measurement. Gauges are read live and are not affected.
+	 */
+	public static void reset() {
+		counters.forEach((name, counter) -> counter.reset());
+		histograms.forEach((name, histogram) -> histogram.reset());
+	}
+
+	/**
+	 * Expose the metrics on the platform MBean server under
+	 * <see cref="ObjectName"/>. Does nothing if already registered.
+	 */
+	public static void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(ObjectName);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new MetricsMBean(), name);
+			}
+		} catch (JMException ex) {
+			SelfLog.writeLine("Failed to register metrics MBean: %s", ex.getMessage());
+		}
+	}
+
+	public static void unregisterMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(ObjectName);
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+		} catch (JMException ex) {
+			SelfLog.writeLine("Failed to unregister metrics MBean: %s", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package serilogj.metrics;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Publishes a fresh <see cref="MetricsSnapshot"/> over JMX. Every counter and
+ * gauge is an attribute of its own; each histogram contributes
+ * <code>.count</code>, <code>.mean</code>, <code>.p50</code>,
+ * <code>.p99</code> and <code>.p999</code> attributes, in nanoseconds.
+ * Attributes are read-only and appear as metrics are registered. The
+ * <code>reset</code> operation calls <see cref="Metrics.reset"/>.
+ */
+class MetricsMBean implements DynamicMBean {
+	private static final String[] HistogramSuffixes = { ".count", ".mean", ".p50", ".p99", ".p999" };
+	private static final String ResetOperation = "reset";
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Object value = read(Metrics.snapshot(), attribute);
+		if (value == null) {
+			throw new AttributeNotFoundException(attribute);
+		}
+		return value;
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		MetricsSnapshot snapshot = Metrics.snapshot();
+		AttributeList result = new AttributeList();
+		for (String attribute : attributes) {
+			Object value = read(snapshot, attribute);
+			if (value != null) {
+				result.add(new Attribute(attribute, value));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+		if (ResetOperation.equals(actionName) && (params == null || params.length == 0)) {
+			Metrics.reset();
+			return null;
+		}
+		throw new ReflectionException(new NoSuchMethodException(actionName), "Unknown operation " + actionName);
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		MetricsSnapshot snapshot = Metrics.snapshot();
+		ArrayList<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+		for (String name : snapshot.getCounters().keySet()) {
+			attributes.add(attribute(name, "long", "Counter"));
+		}
+		for (String name : snapshot.getGauges().keySet()) {
+			attributes.add(attribute(name, "long", "Gauge"));
+		}
+		for (String name : snapshot.getHistograms().keySet()) {
+			for (String suffix : HistogramSuffixes) {
+				attributes.add(attribute(name + suffix, suffix.equals(".mean") ? "double" : "long",
+						"Histogram, nanoseconds"));
+			}
+		}
+
+		return new MBeanInfo(getClass().getName(), "serilogj pipeline metrics",
+				attributes.toArray(new MBeanAttributeInfo[0]), null,
+				new MBeanOperationInfo[] { new MBeanOperationInfo(ResetOperation,
+						"Set every counter and histogram back to zero", new MBeanParameterInfo[0], "void",
+						MBeanOperationInfo.ACTION) },
+				null);
+	}
+
+	private static MBeanAttributeInfo attribute(String name, String type, String description) {
+		return new MBeanAttributeInfo(name, type, description, true, false, false);
+	}
+
+	private static Object read(MetricsSnapshot snapshot, String attribute) {
+		Long value = snapshot.getCounters().get(attribute);
+		if (value != null) {
+			return value;
+		}
+		value = snapshot.getGauges().get(attribute);
+		if (value != null) {
+			return value;
+		}
+
+		for (Map.Entry<String, HistogramSnapshot> histogram : snapshot.getHistograms().entrySet()) {
+			String name = histogram.getKey();
+			if (!attribute.startsWith(name) || attribute.length() <= name.length()) {
+				continue;
+			}
+
+			HistogramSnapshot h = histogram.getValue();
+			switch (attribute.substring(name.length())) {
+			case ".count":
+				return h.getCount();
+			case ".mean":
+				return h.getMean();
+			case ".p50":
+				return h.getPercentile(50);
+			case ".p99":
+				return h.getPercentile(99);
+			case ".p999":
+				return h.getPercentile(99.9);
+			default:
+				break;
+			}
+		}
+		return null;
+	}
+}
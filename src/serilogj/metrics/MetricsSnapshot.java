@@ -0,0 +1,31 @@
+package serilogj.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The values of all registered metrics at a point in time, keyed by name.
+ */
+public final class MetricsSnapshot {
+	private final Map<String, Long> counters;
+	private final Map<String, Long> gauges;
+	private final Map<String, HistogramSnapshot> histograms;
+
+	MetricsSnapshot(Map<String, Long> counters, Map<String, Long> gauges, Map<String, HistogramSnapshot> histograms) {
+		this.counters = Collections.unmodifiableMap(counters);
+		this.gauges = Collections.unmodifiableMap(gauges);
+		this.histograms = Collections.unmodifiableMap(histograms);
+	}
+
+	public Map<String, Long> getCounters() {
+		return counters;
+	}
+
+	public Map<String, Long> getGauges() {
+		return gauges;
+	}
+
+	public Map<String, HistogramSnapshot> getHistograms() {
+		return histograms;
+	}
+}
@@ -32,7 +32,7 @@ public class MessageTemplateProcessor implements ILogEventPropertyFactory {
 	public MessageTemplateProcessorResult process(String messageTemplate, Object[] messageTemplateParameters) {
 		MessageTemplateProcessorResult result = new MessageTemplateProcessorResult();
 		result.template = parser.parse(messageTemplate);
-		result.properties = propertyBinder.constructProperties(result.template, messageTemplateParameters);
+		result.properties = propertyBinder.constructProperties(result.template, messageTemplateParameters, true);
 		return result;
 	}
 
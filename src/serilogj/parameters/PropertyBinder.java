@@ -1,10 +1,14 @@
 package serilogj.parameters;
 
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 import serilogj.debugging.SelfLog;
+import serilogj.events.DeferredLogEventProperty;
 import serilogj.events.LogEventProperty;
+import serilogj.events.LogEventPropertyValue;
 import serilogj.events.MessageTemplate;
+import serilogj.parsing.Destructuring;
 import serilogj.parsing.PropertyToken;
 
 // Copyright 2013-2015 Serilog Contributors
@@ -32,6 +36,20 @@ public class PropertyBinder {
 
 	public ArrayList<LogEventProperty> constructProperties(MessageTemplate template,
 			Object[] messageTemplateParameters) {
+		return constructProperties(template, messageTemplateParameters, false);
+	}
+
+	/**
+	 * Bind the parameters to the properties of the template. If
+	 * <paramref name="deferSuppliers"/> is true, <see cref="Supplier"/>
+	 * parameters are bound as <see cref="DeferredLogEventProperty.reserve"/>
+	 * placeholders, which the event converts when its properties are first
+	 * accessed; otherwise everything is converted right away. Other parameters
+	 * are always converted right away: for immutable scalars that costs no
+	 * more than capturing them would.
+	 */
+	public ArrayList<LogEventProperty> constructProperties(MessageTemplate template,
+			Object[] messageTemplateParameters, boolean deferSuppliers) {
 		if (messageTemplateParameters == null || messageTemplateParameters.length == 0) {
 			if (template.getNamedTokens() != null
 					|| (template.getPositionalTokens() != null && !template.getPositionalTokens().isEmpty())) {
@@ -41,12 +59,12 @@ public class PropertyBinder {
 			return NoProperties;
 		}
 		return template.getPositionalTokens() != null
-				? constructPositionalProperties(template, messageTemplateParameters)
-				: constructNamedProperties(template, messageTemplateParameters);
+				? constructPositionalProperties(template, messageTemplateParameters, deferSuppliers)
+				: constructNamedProperties(template, messageTemplateParameters, deferSuppliers);
 	}
 
 	private ArrayList<LogEventProperty> constructPositionalProperties(MessageTemplate template,
-			Object[] messageTemplateParameters) {
+			Object[] messageTemplateParameters, boolean deferSuppliers) {
 		ArrayList<PropertyToken> positionalProperties = template.getPositionalTokens();
 
 		if (positionalProperties.size() != messageTemplateParameters.length) {
@@ -59,7 +77,7 @@ public class PropertyBinder {
 			if (position < 0 || position >= messageTemplateParameters.length) {
 				SelfLog.writeLine("Unassigned positional value %1 in: %2", position, template);
 			} else {
-				arr[position] = constructProperty(property, messageTemplateParameters[position]);
+				arr[position] = bindProperty(property, messageTemplateParameters[position], deferSuppliers);
 			}
 		}
 
@@ -73,7 +91,7 @@ public class PropertyBinder {
 	}
 
 	private ArrayList<LogEventProperty> constructNamedProperties(MessageTemplate template,
-			Object[] messageTemplateParameters) {
+			Object[] messageTemplateParameters, boolean deferSuppliers) {
 		ArrayList<PropertyToken> namedProperties = template.getNamedTokens();
 		if (namedProperties == null) {
 			return NoProperties;
@@ -88,8 +106,7 @@ public class PropertyBinder {
 		ArrayList<LogEventProperty> result = new ArrayList<LogEventProperty>(matchedRun);
 		for (int i = 0; i < matchedRun; ++i) {
 			PropertyToken property = namedProperties.get(i);
-			Object value = messageTemplateParameters[i];
-			result.add(constructProperty(property, value));
+			result.add(bindProperty(property, messageTemplateParameters[i], deferSuppliers));
 		}
 
 		return result;
@@ -99,4 +116,31 @@ public class PropertyBinder {
 		return new LogEventProperty(propertyToken.getPropertyName(),
 				valueConverter.createPropertyValue(value, propertyToken.getDestructuring()));
 	}
+
+	private LogEventProperty bindProperty(PropertyToken propertyToken, Object value, boolean deferSuppliers) {
+		if (deferSuppliers && value instanceof Supplier) {
+			return new DeferredProperty(propertyToken.getPropertyName(), value, propertyToken.getDestructuring(),
+					valueConverter).reserve();
+		}
+		return constructProperty(propertyToken, value);
+	}
+
+	private static class DeferredProperty extends DeferredLogEventProperty {
+		private Object value;
+		private Destructuring destructuring;
+		private PropertyValueConverter valueConverter;
+
+		private DeferredProperty(String name, Object value, Destructuring destructuring,
+				PropertyValueConverter valueConverter) {
+			super(name);
+			this.value = value;
+			this.destructuring = destructuring;
+			this.valueConverter = valueConverter;
+		}
+
+		@Override
+		public LogEventPropertyValue createValue() {
+			return valueConverter.createPropertyValue(value, destructuring);
+		}
+	}
 }
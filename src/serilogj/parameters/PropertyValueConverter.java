@@ -6,6 +6,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.lang.reflect.Array;
 
 import serilogj.reflection.Reflection;
@@ -17,6 +19,7 @@ import serilogj.core.ILogEventPropertyValueFactory;
 import serilogj.core.IScalarConversionPolicy;
 import serilogj.core.ScalarConversionPolicyResult;
 import serilogj.debugging.SelfLog;
+import serilogj.events.DestructuredValue;
 import serilogj.events.DictionaryValue;
 import serilogj.events.LogEventProperty;
 import serilogj.events.LogEventPropertyValue;
@@ -69,12 +72,42 @@ public class PropertyValueConverter implements ILogEventPropertyValueFactory, IL
 		BuiltInScalarTypes.add(URI.class);
 	}
 
+	private static final int MaxCachedPlans = 1024;
+
 	private ArrayList<IDestructuringPolicy> destructuringPolicies;
 	private ArrayList<IScalarConversionPolicy> scalarConversionPolicies;
+	private HashSet<Class<?>> scalarTypes;
 	private int maximumDestructuringDepth;
+	private boolean streamingDestructuring;
+	private final ConcurrentHashMap<Class<?>, StructurePlan> plans = new ConcurrentHashMap<Class<?>, StructurePlan>();
+
+	// The properties of a destructured type, read in a fixed order so that
+	// values of the type can share the names array
+	private static final class StructurePlan {
+		private final String[] names;
+		private final Property[] properties;
+		private final String typeTag;
+
+		private StructurePlan(String[] names, Property[] properties, String typeTag) {
+			this.names = names;
+			this.properties = properties;
+			this.typeTag = typeTag;
+		}
+	}
 
 	public PropertyValueConverter(int maximumDestructuringDepth, java.lang.Class<?>[] additionalScalarTypes,
 			IDestructuringPolicy[] additionalDestructuringPolicies) {
+		this(maximumDestructuringDepth, additionalScalarTypes, additionalDestructuringPolicies, false);
+	}
+
+	/**
+	 * @param streamingDestructuring
+	 *            When true, destructured objects, collections and maps are
+	 *            captured as <see cref="DestructuredValue"/> snapshots rather
+	 *            than as trees of structure, sequence and dictionary values.
+	 */
+	public PropertyValueConverter(int maximumDestructuringDepth, java.lang.Class<?>[] additionalScalarTypes,
+			IDestructuringPolicy[] additionalDestructuringPolicies, boolean streamingDestructuring) {
 		if (additionalScalarTypes == null) {
 			throw new IllegalArgumentException("additionalScalarTypes");
 		}
@@ -86,17 +119,19 @@ public class PropertyValueConverter implements ILogEventPropertyValueFactory, IL
 		}
 
 		this.maximumDestructuringDepth = maximumDestructuringDepth;
+		this.streamingDestructuring = streamingDestructuring;
 
-		HashSet<Class<?>> scalarTypes = new HashSet<Class<?>>(BuiltInScalarTypes);
+		scalarTypes = new HashSet<Class<?>>(BuiltInScalarTypes);
 		for (Class<?> type : additionalScalarTypes) {
 			scalarTypes.add(type);
 		}
 
+		// Booleans go first so they map onto the shared, unboxed instances
 		this.scalarConversionPolicies = new ArrayList<IScalarConversionPolicy>();
+		this.scalarConversionPolicies.add(new BooleanScalarConversionPolicy());
 		this.scalarConversionPolicies.add(new SimpleScalarConversionPolicy(scalarTypes));
 		this.scalarConversionPolicies.add(new EnumScalarConversionPolicy());
 		this.scalarConversionPolicies.add(new ByteArrayScalarConversionPolicy());
-		this.scalarConversionPolicies.add(new BooleanScalarConversionPolicy());
 		// Nullable converter not build (Java doesn't have nullable types)
 
 		this.destructuringPolicies = new ArrayList<IDestructuringPolicy>();
@@ -134,10 +169,24 @@ public class PropertyValueConverter implements ILogEventPropertyValueFactory, IL
 	}
 
 	private LogEventPropertyValue createPropertyValue(Object value, Destructuring destructuring, int depth) {
+		if (depth == 1 && value instanceof Supplier) {
+			try {
+				value = ((Supplier<?>) value).get();
+			} catch (RuntimeException ex) {
+				SelfLog.writeLine("Exception %s caught while evaluating supplied property value.", ex);
+				return NullScalarValue;
+			}
+		}
+
 		if (value == null) {
 			return NullScalarValue;
 		}
 
+		// Already converted, e.g. by the primitive overloads on ILogger
+		if (value instanceof ScalarValue && destructuring != Destructuring.Stringify) {
+			return (ScalarValue) value;
+		}
+
 		if (destructuring == Destructuring.Stringify) {
 			return new ScalarValue(value.toString());
 		}
@@ -161,6 +210,10 @@ public class PropertyValueConverter implements ILogEventPropertyValueFactory, IL
 			}
 		}
 
+		if (streamingDestructuring && destructuring == Destructuring.Destructure) {
+			return snapshot(value, valueType, depth);
+		}
+
 		if (Map.class.isAssignableFrom(valueType)) {
 			@SuppressWarnings("unchecked")
 			Map<Object, Object> map = (Map<Object, Object>) value;
@@ -194,6 +247,189 @@ public class PropertyValueConverter implements ILogEventPropertyValueFactory, IL
 	}
 
 
+	// Captures what the branches above would build a tree for, with the same
+	// depth limit, flattening and error handling
+	private DestructuredValue snapshot(Object value, Class<?> valueType, int depth) {
+		if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			Object[] items = new Object[map.size() * 2];
+			int count = 0;
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				if (count == items.length) {
+					items = Arrays.copyOf(items, count * 2 + 2);
+				}
+				items[count++] = captureKey(entry.getKey(), depth);
+				items[count++] = capture(entry.getValue(), depth);
+			}
+			return DestructuredValue.dictionary(count == items.length ? items : Arrays.copyOf(items, count));
+		}
+
+		if (value instanceof Iterable || valueType.isArray()) {
+			Object[] items = snapshotElements(value, valueType);
+			for (int i = 0; i < items.length; i++) {
+				items[i] = capture(items[i], depth);
+			}
+			return DestructuredValue.sequence(items);
+		}
+
+		StructurePlan plan = getPlan(valueType);
+		if (plan == null) {
+			return DestructuredValue.structure(new String[0], new Object[0], typeTag(valueType));
+		}
+
+		// A property that can't be read is left out, as in getProperties; the
+		// shared names array is only copied when that happens
+		String[] names = plan.names;
+		Object[] items = new Object[names.length];
+		int count = 0;
+		for (int i = 0; i < plan.properties.length; i++) {
+			try {
+				items[count] = capture(plan.properties[i].getValue(value), depth);
+			} catch (Exception ex) {
+				SelfLog.writeLine("Exception %s caught while getting property %s.", ex, plan.names[i]);
+				if (names == plan.names) {
+					names = plan.names.clone();
+				}
+				continue;
+			}
+			if (names != plan.names) {
+				names[count] = plan.names[i];
+			}
+			count++;
+		}
+		if (count < items.length) {
+			names = Arrays.copyOf(names, count);
+			items = Arrays.copyOf(items, count);
+		}
+		return DestructuredValue.structure(names, items, plan.typeTag);
+	}
+
+	// Copies the elements once, flattening nested collections and dropping
+	// null array elements as Reflection.unifyListOrArray does; the common
+	// cases where that changes nothing skip it
+	private static Object[] snapshotElements(Object value, Class<?> valueType) {
+		if (value instanceof Collection) {
+			Object[] items = ((Collection<?>) value).toArray();
+			if (!containsIterable(items)) {
+				return items;
+			}
+		} else if (value instanceof Object[]) {
+			Object[] items = (Object[]) value;
+			if (!containsNestedOrNull(items)) {
+				return items.clone();
+			}
+		} else if (valueType.isArray()) {
+			int length = Array.getLength(value);
+			Object[] items = new Object[length];
+			for (int i = 0; i < length; i++) {
+				items[i] = Array.get(value, i);
+			}
+			return items;
+		}
+
+		ArrayList<Object> list = new ArrayList<Object>();
+		Reflection.unifyListOrArray(value, list);
+		return list.toArray();
+	}
+
+	private static boolean containsIterable(Object[] items) {
+		for (Object item : items) {
+			if (item instanceof Iterable) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsNestedOrNull(Object[] items) {
+		for (Object item : items) {
+			if (item == null || item instanceof Iterable || item.getClass().isArray()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// A child of a value at depth; scalars are kept as they are, which is
+	// what their ScalarValue would hold
+	private Object capture(Object value, int depth) {
+		if (depth == maximumDestructuringDepth) {
+			SelfLog.writeLine("Maximum destructuring depth reached.");
+			return null;
+		}
+		if (value == null) {
+			return null;
+		}
+
+		Class<?> valueType = value.getClass();
+		if (isScalar(valueType)) {
+			return value;
+		}
+		// Of the scalar conversion policies, only the byte array one applies to
+		// anything else; going straight to the snapshot saves allocating a
+		// result from each of them for every object
+		if (value instanceof ScalarValue || value instanceof byte[] || !destructuringPolicies.isEmpty()) {
+			return createPropertyValue(value, Destructuring.Destructure, depth + 1);
+		}
+		return snapshot(value, valueType, depth + 1);
+	}
+
+	private Object captureKey(Object key, int depth) {
+		if (depth == maximumDestructuringDepth) {
+			SelfLog.writeLine("Maximum destructuring depth reached.");
+			return null;
+		}
+		if (key == null || isScalar(key.getClass())) {
+			return key;
+		}
+		return createPropertyValue(key, Destructuring.Default, depth + 1);
+	}
+
+	private boolean isScalar(Class<?> type) {
+		return scalarTypes.contains(type) || type.isEnum();
+	}
+
+	private StructurePlan getPlan(Class<?> valueType) {
+		StructurePlan plan = plans.get(valueType);
+		if (plan != null) {
+			return plan;
+		}
+
+		Map<String, Property> fields;
+		try {
+			fields = Reflection.getProperties(valueType);
+		} catch (Exception ex) {
+			SelfLog.writeLine("Exception %s caught while getting properties for %s.", ex, valueType.getName());
+			return null;
+		}
+
+		String[] names = new String[fields.size()];
+		Property[] properties = new Property[fields.size()];
+		int i = 0;
+		for (Property property : fields.values()) {
+			names[i] = property.getAlias();
+			properties[i] = property;
+			i++;
+		}
+		plan = new StructurePlan(names, properties, typeTag(valueType));
+
+		// Only expected to overflow with generated classes; start over rather
+		// than grow without bound
+		if (plans.size() >= MaxCachedPlans) {
+			plans.clear();
+		}
+		plans.put(valueType, plan);
+		return plan;
+	}
+
+	private String typeTag(Class<?> valueType) {
+		String typeTag = valueType.getName();
+		if (typeTag.length() <= 0 || isCompilerGeneratedType(valueType)) {
+			return null;
+		}
+		return typeTag;
+	}
+
 	private ArrayList<LogEventProperty> getProperties(Object value, ILogEventPropertyValueFactory recursive) {
 		ArrayList<LogEventProperty> result = new ArrayList<LogEventProperty>();
 		if (value == null) {
@@ -5,16 +5,15 @@ import java.util.ArrayList;
 import serilogj.core.IMessageTemplateParser;
 import serilogj.events.MessageTemplate;
 
+/**
+ * Parses message templates in a single pass over the template. Tokens are
+ * located by index; the template is only sliced for the final text and
+ * property fields, and text runs are copied only when they contain an
+ * escaped <code>}}</code>.
+ */
 public class MessageTemplateParser implements IMessageTemplateParser {
-	private class ParseResult {
-		private ParseResult(int nextIndex, MessageTemplateToken token) {
-			this.nextIndex = nextIndex;
-			this.token = token;
-		}
-
-		private int nextIndex;
-		private MessageTemplateToken token;
-	}
+	// Templates average one token per this many characters, give or take
+	private static final int CharsPerTokenEstimate = 16;
 
 	public MessageTemplate parse(String messageTemplate) {
 		if (messageTemplate == null) {
@@ -24,197 +23,179 @@ public class MessageTemplateParser implements IMessageTemplateParser {
 		return new MessageTemplate(messageTemplate, tokenize(messageTemplate));
 	}
 
-	private ArrayList<MessageTemplateToken> tokenize(String messageTemplate) {
-		ArrayList<MessageTemplateToken> tokens = new ArrayList<MessageTemplateToken>();
+	private static ArrayList<MessageTemplateToken> tokenize(String messageTemplate) {
+		int length = messageTemplate.length();
+		ArrayList<MessageTemplateToken> tokens = new ArrayList<MessageTemplateToken>(
+				1 + length / CharsPerTokenEstimate);
 
-		if (messageTemplate.equals("")) {
+		if (length == 0) {
 			tokens.add(new TextToken(""));
 			return tokens;
 		}
 
-		ParseResult result;
-		int nextIndex = 0;
+		int i = 0;
 		while (true) {
-			result = parseTextToken(nextIndex, messageTemplate);
-			if (result.nextIndex > nextIndex) {
-				tokens.add(result.token);
+			// Text runs up to the next single '{'. A doubled '{' is kept as
+			// is, a doubled '}' collapses into one.
+			int first = i;
+			int copied = i;
+			StringBuilder unescaped = null;
+			while (i < length) {
+				char c = messageTemplate.charAt(i);
+				if (c == '{') {
+					if (i + 1 < length && messageTemplate.charAt(i + 1) == '{') {
+						i++;
+						continue;
+					}
+					break;
+				}
+
+				if (c == '}' && i + 1 < length && messageTemplate.charAt(i + 1) == '}') {
+					if (unescaped == null) {
+						unescaped = new StringBuilder(i - first + CharsPerTokenEstimate);
+					}
+					unescaped.append(messageTemplate, copied, i + 1);
+					i += 2;
+					copied = i;
+					continue;
+				}
+				i++;
 			}
 
-			if (result.nextIndex == messageTemplate.length()) {
+			if (i > first) {
+				String text = unescaped == null ? messageTemplate.substring(first, i)
+						: unescaped.append(messageTemplate, copied, i).toString();
+				tokens.add(new TextToken(text, first));
+			}
+			if (i == length) {
 				return tokens;
 			}
 
-			nextIndex = result.nextIndex;
-			result = parsePropertyToken(nextIndex, messageTemplate);
-			if (result.nextIndex > nextIndex) {
-				tokens.add(result.token);
+			// A property tag runs from '{' through the first character that
+			// can't appear in one; it only counts if that character is '}'
+			first = i;
+			i++;
+			while (i < length && isValidInPropertyTag(messageTemplate.charAt(i))) {
+				i++;
 			}
 
-			if (result.nextIndex == messageTemplate.length()) {
+			if (i == length || messageTemplate.charAt(i) != '}') {
+				tokens.add(new TextToken(messageTemplate.substring(first, i), first));
+			} else {
+				i++;
+				tokens.add(parsePropertyToken(messageTemplate, first, i));
+			}
+			if (i == length) {
 				return tokens;
 			}
-			nextIndex = result.nextIndex;
 		}
 	}
 
-	private ParseResult parseTextToken(int startAt, String messageTemplate) {
-		int first = startAt;
-
-		StringBuilder accum = new StringBuilder();
-		do {
-			char nc = messageTemplate.charAt(startAt);
-			if (nc == '{') {
-				if (startAt + 1 < messageTemplate.length() && messageTemplate.charAt(startAt + 1) == '{') {
-					accum.append(nc);
-				} else {
-					break;
-				}
+	// Parses the tag messageTemplate[first, next), which starts with '{' and
+	// ends with '}'; anything that isn't a valid property becomes text
+	private static MessageTemplateToken parsePropertyToken(String messageTemplate, int first, int next) {
+		int contentStart = first + 1;
+		int contentEnd = next - 1;
+		if (contentStart == contentEnd) {
+			return invalidProperty(messageTemplate, first, next);
+		}
+
+		// Split "name,alignment:format"; a ',' after the ':' belongs to the
+		// format
+		int formatDelim = indexOf(messageTemplate, ':', contentStart, contentEnd);
+		int alignmentDelim = indexOf(messageTemplate, ',', contentStart, contentEnd);
+		int nameEnd = contentEnd;
+		int formatStart = -1;
+		int alignmentStart = -1;
+		int alignmentEnd = -1;
+		if (formatDelim != -1 || alignmentDelim != -1) {
+			if (alignmentDelim == -1 || (formatDelim != -1 && alignmentDelim > formatDelim)) {
+				nameEnd = formatDelim;
 			} else {
-				accum.append(nc);
-				// Check for double }}
-				if (nc == '}') {
-					if (startAt + 1 < messageTemplate.length() && messageTemplate.charAt(startAt + 1) == '}') {
-						startAt++;
-					}
+				nameEnd = alignmentDelim;
+				alignmentStart = alignmentDelim + 1;
+				alignmentEnd = formatDelim == -1 ? contentEnd : formatDelim;
+				if (alignmentStart == alignmentEnd) {
+					return invalidProperty(messageTemplate, first, next);
 				}
 			}
-
-			startAt++;
-		} while (startAt < messageTemplate.length());
-
-		return new ParseResult(startAt, new TextToken(accum.toString(), first));
-	}
-
-	private ParseResult parsePropertyToken(int startAt, String messageTemplate) {
-		int first = startAt;
-		startAt++;
-		while (startAt < messageTemplate.length() && isValidInPropertyTag(messageTemplate.charAt(startAt))) {
-			startAt++;
-		}
-
-		if (startAt == messageTemplate.length() || messageTemplate.charAt(startAt) != '}') {
-			return new ParseResult(startAt, new TextToken(messageTemplate.substring(first, startAt), first));
-		}
-
-		int next = startAt + 1;
-
-		String rawText = messageTemplate.substring(first, next);
-		String tagContent = messageTemplate.substring(first + 1, first + 1 + next - (first + 2));
-		if (tagContent.length() == 0 || !isValidInPropertyTag(tagContent.charAt(0))) {
-			return new ParseResult(next, new TextToken(rawText, first));
-		}
-
-		SplitTagContentResult result = trySplitTagContent(tagContent);
-		String propertyName = result.propertyNameAndDestructuring;
-		String format = result.format;
-		String alignment = result.alignment;
-		if (!result.isValid) {
-			return new ParseResult(next, new TextToken(rawText, first));
+			if (formatDelim != -1 && formatDelim != contentEnd - 1) {
+				formatStart = formatDelim + 1;
+			}
 		}
 
-		Destructuring destructuring = tryGetDestructuringHint(propertyName.charAt(0));
+		int nameStart = contentStart;
+		Destructuring destructuring = nameStart < nameEnd ? tryGetDestructuringHint(messageTemplate.charAt(nameStart))
+				: Destructuring.Default;
 		if (destructuring != Destructuring.Default) {
-			propertyName = propertyName.substring(1);
+			nameStart++;
 		}
 
-		if (propertyName.equals("") || !isValidInPropertyName(propertyName.charAt(0))) {
-			return new ParseResult(next, new TextToken(rawText, first));
+		if (nameStart == nameEnd) {
+			return invalidProperty(messageTemplate, first, next);
 		}
-
-		for (int i = 0; i < propertyName.length(); ++i) {
-			char c = propertyName.charAt(i);
-			if (!isValidInPropertyName(c)) {
-				return new ParseResult(next, new TextToken(rawText, first));
+		for (int i = nameStart; i < nameEnd; i++) {
+			if (!isValidInPropertyName(messageTemplate.charAt(i))) {
+				return invalidProperty(messageTemplate, first, next);
 			}
 		}
 
-		if (format != null) {
-			for (int i = 0; i < format.length(); ++i) {
-				char c = format.charAt(i);
-				if (!isValidInFormat(c)) {
-					return new ParseResult(next, new TextToken(rawText, first));
+		if (formatStart != -1) {
+			for (int i = formatStart; i < contentEnd; i++) {
+				if (!isValidInFormat(messageTemplate.charAt(i))) {
+					return invalidProperty(messageTemplate, first, next);
 				}
 			}
 		}
 
-		Alignment alignmentValue = null;
-		if (alignment != null) {
-			for (int i = 0; i < alignment.length(); ++i) {
-				char c = alignment.charAt(i);
-				if (!isValidInAlignment(c)) {
-					return new ParseResult(next, new TextToken(rawText, first));
-				}
-			}
-
-			int lastDash = alignment.lastIndexOf('-');
-			if (lastDash > 0) {
-				return new ParseResult(next, new TextToken(rawText, first));
+		Alignment alignment = null;
+		if (alignmentStart != -1) {
+			alignment = parseAlignment(messageTemplate, alignmentStart, alignmentEnd);
+			if (alignment == null) {
+				return invalidProperty(messageTemplate, first, next);
 			}
-
-			int width = lastDash == -1 ? Integer.parseInt(alignment) : Integer.parseInt(alignment.substring(1));
-			if (width == 0) {
-				return new ParseResult(next, new TextToken(rawText, first));
-			}
-
-			AlignmentDirection direction = lastDash == -1 ? AlignmentDirection.Right : AlignmentDirection.Left;
-
-			alignmentValue = new Alignment(direction, width);
 		}
 
-		return new ParseResult(next,
-				new PropertyToken(propertyName, rawText, format, alignmentValue, destructuring, first));
+		return new PropertyToken(messageTemplate.substring(nameStart, nameEnd), messageTemplate.substring(first, next),
+				formatStart == -1 ? null : messageTemplate.substring(formatStart, contentEnd), alignment,
+				destructuring, first);
 	}
 
-	private class SplitTagContentResult {
-		private SplitTagContentResult() {
-			isValid = false;
-			propertyNameAndDestructuring = null;
-			format = null;
-			alignment = null;
-		}
-
-		private boolean isValid;
-		private String propertyNameAndDestructuring;
-		private String format;
-		private String alignment;
+	private static TextToken invalidProperty(String messageTemplate, int first, int next) {
+		return new TextToken(messageTemplate.substring(first, next), first);
 	}
 
-	private SplitTagContentResult trySplitTagContent(String tagContent) {
-		SplitTagContentResult result = new SplitTagContentResult();
-
-		int formatDelim = tagContent.indexOf(':');
-		int alignmentDelim = tagContent.indexOf(',');
-		if (formatDelim == -1 && alignmentDelim == -1) {
-			result.propertyNameAndDestructuring = tagContent;
-		} else {
-			if (alignmentDelim == -1 || (formatDelim != -1 && alignmentDelim > formatDelim)) {
-				result.propertyNameAndDestructuring = tagContent.substring(0, formatDelim);
-				result.format = formatDelim == tagContent.length() - 1 ? null : tagContent.substring(formatDelim + 1);
-				result.alignment = null;
-			} else {
-				result.propertyNameAndDestructuring = tagContent.substring(0, alignmentDelim);
-				if (formatDelim == -1) {
-					if (alignmentDelim == tagContent.length() - 1) {
-						return result;
-					}
-
-					result.format = null;
-					result.alignment = tagContent.substring(alignmentDelim + 1);
-				} else {
-					if (alignmentDelim == formatDelim - 1) {
-						return result;
-					}
+	// Parses an optional leading '-' followed by a non-zero width; returns
+	// null if that isn't what messageTemplate[start, end) holds
+	private static Alignment parseAlignment(String messageTemplate, int start, int end) {
+		AlignmentDirection direction = AlignmentDirection.Right;
+		int i = start;
+		if (messageTemplate.charAt(i) == '-') {
+			direction = AlignmentDirection.Left;
+			i++;
+		}
+		if (i == end) {
+			return null;
+		}
 
-					result.alignment = tagContent.substring(alignmentDelim + 1,
-							alignmentDelim + 1 + formatDelim - alignmentDelim - 1);
-					result.format = formatDelim == tagContent.length() - 1 ? null
-							: tagContent.substring(formatDelim + 1);
-				}
+		int width = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(messageTemplate.charAt(i), 10);
+			if (digit < 0 || width > (Integer.MAX_VALUE - digit) / 10) {
+				return null;
 			}
+			width = width * 10 + digit;
 		}
+		return width == 0 ? null : new Alignment(direction, width);
+	}
 
-		result.isValid = true;
-		return result;
+	private static int indexOf(String value, char c, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (value.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
 	}
 
 	private static Destructuring tryGetDestructuringHint(char c) {
@@ -4,6 +4,7 @@ import java.io.*;
 import java.util.*;
 
 import serilogj.events.LogEventPropertyValue;
+import serilogj.formatting.StringBuilderWriter;
 import serilogj.formatting.display.Padding;
 
 public class PropertyToken extends MessageTemplateToken {
@@ -31,14 +32,32 @@ public class PropertyToken extends MessageTemplateToken {
 		this.destructuring = destructuring;
 		this.alignment = alignment;
 
-		try {
-			int position = Integer.parseInt(propertyName);
-			if (position >= 0) {
-				this.position = position;
+		this.position = tryParsePosition(propertyName);
+	}
+
+	// Accepts what Integer.parseInt would parse as a non-negative number,
+	// without the cost of an exception for the (common) named properties
+	private static Integer tryParsePosition(String propertyName) {
+		int length = propertyName.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0 && (propertyName.charAt(0) == '+' || propertyName.charAt(0) == '-')) {
+			negative = propertyName.charAt(0) == '-';
+			i++;
+		}
+		if (i == length) {
+			return null;
+		}
+
+		int position = 0;
+		for (; i < length; i++) {
+			int digit = Character.digit(propertyName.charAt(i), 10);
+			if (digit < 0 || position > (Integer.MAX_VALUE - digit) / 10) {
+				return null;
 			}
-		} catch (NumberFormatException e) {
-			// Ignore
+			position = position * 10 + digit;
 		}
+		return negative && position != 0 ? null : position;
 	}
 
 	public String getPropertyName() {
@@ -80,27 +99,38 @@ public class PropertyToken extends MessageTemplateToken {
 			throw new IllegalArgumentException("output");
 		}
 
-		if (!properties.containsKey(propertyName)) {
+		LogEventPropertyValue propertyValue = properties.get(propertyName);
+		if (propertyValue == null) {
 			output.write(rawText);
 			return;
 		}
 
-		LogEventPropertyValue propertyValue = properties.get(propertyName);
+		renderValue(propertyValue, output, locale);
+	}
+
+	/**
+	 * Render <paramref name="propertyValue"/>, which has already been looked
+	 * up, with the format and alignment of this token.
+	 */
+	public void renderValue(LogEventPropertyValue propertyValue, Writer output, Locale locale) throws IOException {
 		if (alignment == null) {
 			propertyValue.render(output, format, locale);
 			return;
 		}
 
-		StringWriter valueOutput = new StringWriter();
-		propertyValue.render(valueOutput, format, locale);
-		String value = valueOutput.toString();
-
-		if (value.length() >= alignment.getWidth()) {
-			output.write(value);
+		// Pad in place when the output is a builder; only other writers need
+		// the value rendered separately to measure it
+		if (output instanceof StringBuilderWriter) {
+			StringBuilder builder = ((StringBuilderWriter) output).getBuilder();
+			int start = builder.length();
+			propertyValue.render(output, format, locale);
+			Padding.apply(builder, start, alignment);
 			return;
 		}
 
-		Padding.apply(output, value, alignment);
+		StringBuilderWriter valueOutput = StringBuilderWriter.acquire();
+		propertyValue.render(valueOutput, format, locale);
+		Padding.apply(output, StringBuilderWriter.release(valueOutput), alignment);
 	}
 
 	@Override
@@ -3,11 +3,12 @@ package serilogj.policies;
 import serilogj.core.ILogEventPropertyValueFactory;
 import serilogj.core.IScalarConversionPolicy;
 import serilogj.core.ScalarConversionPolicyResult;
+import serilogj.events.BooleanScalarValue;
 import serilogj.events.ScalarValue;
 
 public class BooleanScalarConversionPolicy implements IScalarConversionPolicy {
-	private final static ScalarValue TrueScalarValue = new ScalarValue(true);
-	private final static ScalarValue FalseScalarValue = new ScalarValue(false);
+	private final static ScalarValue TrueScalarValue = BooleanScalarValue.True;
+	private final static ScalarValue FalseScalarValue = BooleanScalarValue.False;
 
 	@Override
 	public ScalarConversionPolicyResult tryConvertToScalar(Object value,
@@ -26,6 +27,7 @@ public class BooleanScalarConversionPolicy implements IScalarConversionPolicy {
 		}
 
 		result.isValid = resultValue != null;
+		result.result = resultValue;
 		return result;
 	}
 }
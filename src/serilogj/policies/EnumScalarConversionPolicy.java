@@ -1,7 +1,6 @@
 package serilogj.policies;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import serilogj.core.ILogEventPropertyValueFactory;
 import serilogj.core.IScalarConversionPolicy;
@@ -23,7 +22,7 @@ import serilogj.events.ScalarValue;
 // limitations under the License.
 
 public class EnumScalarConversionPolicy implements IScalarConversionPolicy {
-	private Map<Class<?>, Map<Integer, ScalarValue>> _values = new HashMap<Class<?>, Map<Integer, ScalarValue>>();
+	private ConcurrentHashMap<Class<?>, ScalarValue[]> _values = new ConcurrentHashMap<Class<?>, ScalarValue[]>();
 
 	@Override
 	public ScalarConversionPolicyResult tryConvertToScalar(Object value,
@@ -34,24 +33,24 @@ public class EnumScalarConversionPolicy implements IScalarConversionPolicy {
 		}
 
 		result.isValid = true;
-		synchronized (_values) {
-			Map<Integer, ScalarValue> enumValues = _values.get(value.getClass());
-			if (enumValues == null) {
-				enumValues = new HashMap<Integer, ScalarValue>();
-				_values.put(value.getClass(), enumValues);
-			}
-
-			@SuppressWarnings("rawtypes")
-			Integer enumOrdinal = ((Enum) value).ordinal();
-
-			ScalarValue resultValue = enumValues.get(enumOrdinal);
-			if (resultValue == null) {
-				resultValue = new ScalarValue(value);
-				enumValues.put(enumOrdinal, resultValue);
-			}
-
-			result.result = resultValue;
+		@SuppressWarnings("rawtypes")
+		Enum enumValue = (Enum) value;
+		ScalarValue[] enumValues = _values.get(enumValue.getDeclaringClass());
+		if (enumValues == null) {
+			enumValues = _values.computeIfAbsent(enumValue.getDeclaringClass(),
+					EnumScalarConversionPolicy::createValues);
 		}
+
+		result.result = enumValues[enumValue.ordinal()];
 		return result;
 	}
+
+	private static ScalarValue[] createValues(Class<?> enumClass) {
+		Object[] constants = enumClass.getEnumConstants();
+		ScalarValue[] values = new ScalarValue[constants.length];
+		for (int i = 0; i < constants.length; i++) {
+			values[i] = new ScalarValue(constants[i]);
+		}
+		return values;
+	}
 }
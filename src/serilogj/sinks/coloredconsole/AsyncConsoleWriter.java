@@ -0,0 +1,206 @@
+package serilogj.sinks.coloredconsole;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import serilogj.debugging.SelfLog;
+
+/**
+ * Writes console output from a background thread, straight to the channel of
+ * <see cref="FileDescriptor.out"/>. Whatever has queued up while the previous
+ * write was in progress goes out in a single write, so a burst of events costs
+ * a handful of system calls rather than one (or several) per event.
+ *
+ * Output written through <see cref="System.out"/> bypasses this writer, and
+ * may appear out of order with it. Text written after <see cref="close"/> is
+ * written straight to the console on the calling thread.
+ */
+class AsyncConsoleWriter implements Closeable {
+	private static final AtomicInteger threadCount = new AtomicInteger();
+	private static final int MaxBatchSize = 1024;
+	private static final long AdmissionWaitNanos = 1_000_000L;
+	// Marks the end of the queue; compared by identity
+	private static final String Closed = new String("");
+
+	private final ArrayBlockingQueue<String> queue;
+	private final FileChannel channel;
+	private final CharsetEncoder encoder;
+	private final Thread worker;
+	private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+	// Callers between the closed check and the end of their put; close()
+	// waits for them, so nothing is queued behind the end marker
+	private final AtomicInteger admitting = new AtomicInteger();
+	private final AtomicBoolean closed = new AtomicBoolean();
+
+	public AsyncConsoleWriter(int queueCapacity) {
+		if (queueCapacity <= 0) {
+			throw new IllegalArgumentException("queueCapacity");
+		}
+
+		queue = new ArrayBlockingQueue<String>(queueCapacity);
+		channel = new FileOutputStream(FileDescriptor.out).getChannel();
+		encoder = consoleCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+		worker = new Thread(this::run, "serilogj-console-" + threadCount.incrementAndGet());
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Queue <paramref name="text"/> for writing, waiting for room when the
+	 * console can't keep up; console output is never dropped.
+	 */
+	public void write(String text) {
+		admitting.incrementAndGet();
+		try {
+			if (!closed.get()) {
+				queue.put(text);
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			admitting.decrementAndGet();
+		}
+
+		// Closed, or interrupted while waiting for room
+		writeDirect(text);
+	}
+
+	private void writeDirect(CharSequence text) {
+		try {
+			writeToChannel(text);
+		} catch (IOException e) {
+			SelfLog.writeLine("Failed to write to the console: %s", e);
+		}
+	}
+
+	private void run() {
+		ArrayList<String> batch = new ArrayList<String>();
+		StringBuilder text = new StringBuilder();
+		boolean done = false;
+		while (!done) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				continue;
+			}
+			queue.drainTo(batch, MaxBatchSize - 1);
+
+			text.setLength(0);
+			for (String item : batch) {
+				if (item == Closed) {
+					done = true;
+				} else {
+					text.append(item);
+				}
+			}
+			batch.clear();
+
+			writeDirect(text);
+		}
+	}
+
+	// Synchronized as writes after close, or after an interrupted close, can
+	// overlap with the worker
+	private synchronized void writeToChannel(CharSequence text) throws IOException {
+		if (text.length() == 0) {
+			return;
+		}
+
+		int required = (int) Math.ceil(text.length() * (double) encoder.maxBytesPerChar());
+		if (buffer.capacity() < required) {
+			buffer = ByteBuffer.allocate(required);
+		}
+
+		buffer.clear();
+		encoder.reset();
+		encoder.encode(CharBuffer.wrap(text), buffer, true);
+		encoder.flush(buffer);
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Write out everything queued so far, and stop the worker. Concurrent
+	 * calls all return once the queue has been written out.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!closed.compareAndSet(false, true)) {
+			awaitWorker();
+			return;
+		}
+
+		// The worker keeps draining meanwhile, so blocked callers get through
+		while (admitting.get() != 0) {
+			LockSupport.parkNanos(AdmissionWaitNanos);
+		}
+
+		// The channel stays open, closing it would close standard output
+		boolean interrupted = false;
+		try {
+			queue.put(Closed);
+			worker.join();
+		} catch (InterruptedException e) {
+			interrupted = true;
+		}
+
+		// Only left behind if the wait above was interrupted
+		ArrayList<String> remaining = new ArrayList<String>();
+		queue.drainTo(remaining);
+		StringBuilder text = new StringBuilder();
+		for (String item : remaining) {
+			if (item != Closed) {
+				text.append(item);
+			}
+		}
+		writeDirect(text);
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void awaitWorker() {
+		if (Thread.currentThread() == worker) {
+			return;
+		}
+
+		try {
+			worker.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static Charset consoleCharset() {
+		// stdout.encoding is set from Java 18 on, and may differ from the
+		// default charset
+		String name = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+		if (name != null) {
+			try {
+				return Charset.forName(name);
+			} catch (IllegalArgumentException e) {
+				SelfLog.writeLine("Unsupported console encoding %s", name);
+			}
+		}
+		return Charset.defaultCharset();
+	}
+}
@@ -2,12 +2,23 @@ package serilogj.sinks.coloredconsole;
 
 import java.util.*;
 import java.io.*;
+import java.lang.reflect.Method;
 import serilogj.core.*;
 import serilogj.events.*;
-import serilogj.formatting.display.*;
-import serilogj.parsing.*;
-
-public class ColoredConsoleSink implements ILogEventSink {
+import serilogj.formatting.StringBuilderWriter;
+import serilogj.formatting.display.CompiledOutputTemplate;
+import serilogj.parsing.MessageTemplateParser;
+
+/**
+ * Writes events to the console, colored by level. Each event is rendered into
+ * a buffer that is reused by the thread, and written with a single call, so
+ * concurrent events don't interleave and no lock is held while rendering.
+ *
+ * Colors are left out when standard output isn't a terminal, for example when
+ * it is collected by a container runtime, or when the NO_COLOR environment
+ * variable is set.
+ */
+public class ColoredConsoleSink implements ILogEventSink, Closeable {
 	private static String Prefix = "\033[";
 	private static String Suffix = "m";
 	private static String ANSI_RESET = Prefix + "0" + Suffix;
@@ -35,97 +46,108 @@ public class ColoredConsoleSink implements ILogEventSink {
 		LevelPalettes.put(LogEventLevel.Fatal, new Palette("30;41", "33;41"));
 	}
 
-	private MessageTemplate outputTemplate;
-	private Locale locale;
+	private static final int AsyncQueueCapacity = 10000;
+
+	private final CompiledOutputTemplate outputTemplate;
+	private final boolean colored;
+	private final AsyncConsoleWriter asyncWriter;
 
 	public ColoredConsoleSink(String outputTemplate, Locale locale) {
+		this(outputTemplate, locale, null, false);
+	}
+
+	/**
+	 * Construct a <see cref="ColoredConsoleSink"/>.
+	 * 
+	 * @param colored
+	 *            Whether to write color codes; null to write them only when
+	 *            standard output is a terminal.
+	 * @param async
+	 *            If true, events are written by a background thread, in batches,
+	 *            to the file descriptor of standard output. Close the sink to
+	 *            write out what is still queued.
+	 */
+	public ColoredConsoleSink(String outputTemplate, Locale locale, Boolean colored, boolean async) {
 		if (outputTemplate == null) {
 			throw new IllegalArgumentException("outputTemplate");
 		}
 
-		this.outputTemplate = new MessageTemplateParser().parse(outputTemplate);
-		this.locale = locale;
+		this.colored = colored != null ? colored : isTerminal();
+		this.asyncWriter = async ? new AsyncConsoleWriter(AsyncQueueCapacity) : null;
+		this.outputTemplate = new CompiledOutputTemplate(new MessageTemplateParser().parse(outputTemplate), locale,
+				this.colored ? new PaletteStyle() : null);
+	}
+
+	public boolean isColored() {
+		return colored;
 	}
 
 	@Override
-	public synchronized void emit(LogEvent logEvent) {
+	public void emit(LogEvent logEvent) {
 		if (logEvent == null) {
 			throw new IllegalArgumentException("logEvent");
 		}
 
-		Palette palette = DefaultPalette;
-		if (LevelPalettes.containsKey(logEvent.getLevel())) {
-			palette = LevelPalettes.get(logEvent.getLevel());
-		}
-
-		Map<String, LogEventPropertyValue> properties = OutputProperties.GetOutputProperties(logEvent);
+		StringBuilderWriter output = StringBuilderWriter.acquire();
 		try {
-			for (MessageTemplateToken token : outputTemplate.getTokens()) {
-				if (token instanceof PropertyToken) {
-					PropertyToken propertyToken = (PropertyToken) token;
-					if (!properties.containsKey(propertyToken.getPropertyName())) {
-						continue;
-					}
-
-					switch (propertyToken.getPropertyName()) {
-					case OutputProperties.MessagePropertyName:
-						renderMessageToken(logEvent, palette, properties);
-						break;
-					case OutputProperties.ExceptionPropertyName:
-						renderExceptionToken(token, palette, properties);
-						break;
-					default:
-						renderOutputToken(token, palette, properties);
-						break;
-					}
-				} else {
-					renderOutputToken(token, palette, properties);
-				}
-			}
+			outputTemplate.render(logEvent, output);
+		} catch (IOException e) {
+			// Won't happen, the builder doesn't throw
 		} finally {
-			System.out.print(ANSI_RESET);
+			if (colored) {
+				output.write(ANSI_RESET);
+			}
+		}
+
+		String text = StringBuilderWriter.release(output);
+		if (asyncWriter != null) {
+			asyncWriter.write(text);
+		} else {
+			System.out.print(text);
 		}
 	}
 
-	private void setBaseColors(Palette palette) {
-		System.out.print(palette.base);
+	@Override
+	public void close() throws IOException {
+		if (asyncWriter != null) {
+			asyncWriter.close();
+		}
 	}
 
-	private void setHighlightColors(Palette palette) {
-		System.out.print(palette.highlight);
+	private static Palette paletteOf(LogEventLevel level) {
+		Palette palette = LevelPalettes.get(level);
+		return palette != null ? palette : DefaultPalette;
 	}
 
-	private void renderMessageToken(LogEvent logEvent, Palette palette, Map<String, LogEventPropertyValue> properties) {
-		for (MessageTemplateToken token : logEvent.getMessageTemplate().getTokens()) {
-			if (token instanceof PropertyToken) {
-				setHighlightColors(palette);
-				renderToken(token, properties);
-			} else {
-				setBaseColors(palette);
-				renderToken(token, properties);
-			}
+	private static final class PaletteStyle implements CompiledOutputTemplate.Style {
+		@Override
+		public String base(LogEventLevel level) {
+			return paletteOf(level).base;
 		}
-	}
 
-	private void renderExceptionToken(MessageTemplateToken outputToken, Palette palette,
-			Map<String, LogEventPropertyValue> properties) {
-		setHighlightColors(palette);
-		renderToken(outputToken, properties);
+		@Override
+		public String highlight(LogEventLevel level) {
+			return paletteOf(level).highlight;
+		}
 	}
 
-	private void renderOutputToken(MessageTemplateToken outputToken, Palette palette,
-			Map<String, LogEventPropertyValue> properties) {
-		setBaseColors(palette);
-		renderToken(outputToken, properties);
-	}
+	private static boolean isTerminal() {
+		if (System.getenv("NO_COLOR") != null) {
+			return false;
+		}
 
-	private void renderToken(MessageTemplateToken outputToken, Map<String, LogEventPropertyValue> properties) {
-		StringWriter writer = new StringWriter();
+		Console console = System.console();
+		if (console == null) {
+			return false;
+		}
+
+		// From Java 22 there's a console even when output is redirected, and
+		// isTerminal tells the two apart
 		try {
-			outputToken.render(properties, writer, locale);
-			System.out.print(writer.toString());
-		} catch (IOException e) {
-			// Won't happen
+			Method isTerminal = Console.class.getMethod("isTerminal");
+			return (Boolean) isTerminal.invoke(console);
+		} catch (ReflectiveOperationException e) {
+			return true;
 		}
 	}
 }
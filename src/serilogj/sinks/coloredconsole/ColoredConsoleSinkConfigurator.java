@@ -22,4 +22,19 @@ public class ColoredConsoleSinkConfigurator {
 	public static ILogEventSink coloredConsole(String outputTemplate, Locale locale) {
 		return new ColoredConsoleSink(outputTemplate, locale);
 	}
+
+	/**
+	 * A console sink that writes from a background thread, in batches; see
+	 * <see cref="ColoredConsoleSink"/>.
+	 */
+	public static ILogEventSink asyncColoredConsole(String outputTemplate, Locale locale) {
+		return new ColoredConsoleSink(outputTemplate, locale, null, true);
+	}
+
+	/**
+	 * A console sink that never writes color codes.
+	 */
+	public static ILogEventSink plainConsole(String outputTemplate, Locale locale) {
+		return new ColoredConsoleSink(outputTemplate, locale, false, false);
+	}
 }
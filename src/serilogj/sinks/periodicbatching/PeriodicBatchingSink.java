@@ -9,10 +9,15 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
 
 import serilogj.core.ILogEventSink;
 import serilogj.debugging.SelfLog;
+import serilogj.debugging.jfr.PipelineEvents;
 import serilogj.events.LogEvent;
+import serilogj.metrics.Counter;
+import serilogj.metrics.Histogram;
+import serilogj.metrics.Metrics;
 
 // Copyright 2013-2016 Serilog Contributors
 //
@@ -32,12 +37,17 @@ import serilogj.events.LogEvent;
  * Base class for sinks that log events in batches. Batching is triggered
  * asynchronously on a timer.
  * 
- * To avoid unbounded memory growth, events are discarded after attempting to
- * send a batch, regardless of whether the batch succeeded or not. Implementers
- * that want to change this behavior need to either implement from scratch, or
- * embed retry logic in the batch emitting functions.
+ * A batch is emitted by <see cref="emitBatch"/>, which reports a failure by
+ * throwing. A failed batch is kept and retried, backing off further after
+ * each consecutive failure, up to ten minutes apart. To avoid unbounded memory
+ * growth, the batch is discarded after 8 consecutive failures, and the queued
+ * events as well after 10; both are counted in the "batch.dropped" metric.
+ * Implementations that catch their own errors get the earlier behavior: each
+ * batch is discarded after one attempt, whether or not it succeeded.
  */
 public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
+	private static final Counter DroppedCount = Metrics.counter("batch.dropped");
+
 	private int batchSizeLimit;
 	private ConcurrentLinkedQueue<LogEvent> queue;
 	private BatchedConnectionStatus status;
@@ -47,6 +57,12 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 	private ScheduledExecutorService ses = Executors.newSingleThreadScheduledExecutor();
 	private volatile boolean unloading;
 
+	private final String instanceName;
+	private final String queueDepthGaugeName;
+	private final LongSupplier queueDepthGauge;
+	private final String emitBatchTimeName;
+	private final Histogram emitBatchTime;
+
 	/**
 	 * Construct a sink posting to the specified database.
 	 */
@@ -59,6 +75,13 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 		queue = new ConcurrentLinkedQueue<LogEvent>();
 		waitingBatch = new LinkedList<LogEvent>();
 		status = new BatchedConnectionStatus(period);
+
+		instanceName = Metrics.instanceNameOf(this);
+		queueDepthGaugeName = "batch." + instanceName + ".queue";
+		queueDepthGauge = () -> queue.size();
+		Metrics.gauge(queueDepthGaugeName, queueDepthGauge);
+		emitBatchTimeName = "batch." + instanceName + ".emit";
+		emitBatchTime = Metrics.histogram(emitBatchTimeName);
 		
 		// Assumes that subclass constructors will have finished
 		// executing within the interval.
@@ -102,7 +125,18 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 					return;
 				}
 
-				emitBatch(waitingBatch);
+				long start = Metrics.isEnabled() ? System.nanoTime() : 0;
+				Object batchEvent = PipelineEvents.beginBatch();
+				boolean emitted = false;
+				try {
+					emitBatch(waitingBatch);
+					emitted = true;
+				} finally {
+					PipelineEvents.endBatch(batchEvent, getClass().getName(), waitingBatch.size(), emitted);
+				}
+				if (start != 0) {
+					emitBatchTime.record(System.nanoTime() - start);
+				}
 
 				batchWasFull = waitingBatch.size() == batchSizeLimit;
 				waitingBatch.clear();
@@ -115,10 +149,12 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 			status.markFailure();
 		} finally {
 			if (status.getShouldDropBatch()) {
+				DroppedCount.add(waitingBatch.size());
 				waitingBatch.clear();
 			}
 
 			if (status.getShouldDropQueue()) {
+				DroppedCount.add(queue.size());
 				queue.clear();
 			}
 
@@ -137,6 +173,7 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 
 			unloading = true;
 		}
+		Metrics.removeGauge(queueDepthGaugeName, queueDepthGauge);
 
 		ses.shutdownNow();
 		try {
@@ -145,6 +182,9 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 			// No problem, we're shutting down
 		}
 		execute();
+
+		Metrics.removeHistogram(emitBatchTimeName, emitBatchTime);
+		Metrics.releaseInstanceName(this, instanceName);
 	}
 
 	protected boolean canInclude(LogEvent event) {
@@ -155,6 +195,7 @@ public abstract class PeriodicBatchingSink implements ILogEventSink, Closeable {
 	}
 
 	// We possibly need to do something with synchronized context but it's not
-	// supported by serilogj yet
+	// supported by serilogj yet. Throw to report a failed batch, see the class
+	// documentation
 	protected abstract void emitBatch(Queue<LogEvent> events);
 }
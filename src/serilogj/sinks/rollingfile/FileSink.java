@@ -6,10 +6,12 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.concurrent.locks.ReentrantLock;
 import serilogj.core.ILogEventSink;
 import serilogj.debugging.SelfLog;
 import serilogj.events.LogEvent;
 import serilogj.formatting.ITextFormatter;
+import serilogj.formatting.StringBuilderWriter;
 
 public class FileSink implements ILogEventSink, Closeable {
 	private String filename;
@@ -18,7 +20,9 @@ public class FileSink implements ILogEventSink, Closeable {
 	private Long fileSizeLimitBytes;
 	private boolean buffered;
 	private ITextFormatter formatter;
-	private Object syncRoot = new Object();
+	// Not a monitor, so virtual threads blocked on file I/O don't pin their
+	// carrier
+	private final ReentrantLock syncRoot = new ReentrantLock();
 
 	public FileSink(String path, Long fileSizeLimitBytes, boolean buffered, ITextFormatter formatter)
 			throws IOException {
@@ -64,29 +68,38 @@ public class FileSink implements ILogEventSink, Closeable {
 			throw new IllegalArgumentException("logEvent");
 		}
 
-		synchronized (syncRoot) {
+		// Format outside the lock, so only the write itself is serialized
+		StringBuilderWriter formatted = StringBuilderWriter.acquire();
+		try {
+			formatter.format(logEvent, formatted);
+		} catch (IOException e) {
+			StringBuilderWriter.release(formatted);
+			SelfLog.writeLine("Failed to format event for %s: %s", filename, e);
+			return;
+		}
+		String text = StringBuilderWriter.release(formatted);
+
+		syncRoot.lock();
+		try {
 			if (output == null) {
 				return;
 			}
 
-			if (fileSizeLimitBytes != null) {
-			}
-
-			try {
-				formatter.format(logEvent, output);
-
-				if (!buffered) {
-					output.flush();
-				}
-			} catch (IOException e) {
-				SelfLog.writeLine("Write to %s failed", filename);
+			output.write(text);
+			if (!buffered) {
+				output.flush();
 			}
+		} catch (IOException e) {
+			SelfLog.writeLine("Write to %s failed", filename);
+		} finally {
+			syncRoot.unlock();
 		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		synchronized (syncRoot) {
+		syncRoot.lock();
+		try {
 			if (output == null) {
 				return;
 			}
@@ -96,6 +109,9 @@ public class FileSink implements ILogEventSink, Closeable {
 				fileWriter.close();
 			}
 			fileWriter = null;
+			output = null;
+		} finally {
+			syncRoot.unlock();
 		}
 	}
 
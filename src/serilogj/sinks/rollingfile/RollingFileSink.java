@@ -6,8 +6,10 @@ import java.io.IOException;
 import java.time.*;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.concurrent.locks.ReentrantLock;
 import serilogj.core.ILogEventSink;
 import serilogj.debugging.SelfLog;
+import serilogj.debugging.jfr.PipelineEvents;
 import serilogj.events.LogEvent;
 import serilogj.formatting.ITextFormatter;
 
@@ -16,7 +18,7 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 	private Long fileSizeLimitBytes;
 	private Integer retainedFileCountLimit;
 	private boolean buffered;
-	private Object syncLock = new Object();
+	private final ReentrantLock syncLock = new ReentrantLock();
 
 	private boolean isDisposed;
 	private LocalDateTime nextCheckpoint;
@@ -44,7 +46,8 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 			throw new IllegalArgumentException("logEvent");
 		}
 
-		synchronized (syncLock) {
+		syncLock.lock();
+		try {
 			if (isDisposed) {
 				throw new IllegalStateException("The rolling file has been disposed");
 			}
@@ -54,6 +57,8 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 			if (currentFile != null) {
 				currentFile.emit(logEvent);
 			}
+		} finally {
+			syncLock.unlock();
 		}
 	}
 
@@ -79,6 +84,18 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 	}
 
 	private void openFile(LocalDateTime now) {
+		Object rollEvent = PipelineEvents.beginFileRoll();
+		int deletedFileCount = 0;
+		try {
+			deletedFileCount = openNextFile(now);
+		} finally {
+			PipelineEvents.endFileRoll(rollEvent, currentFile != null ? currentFile.getFilename() : null,
+					deletedFileCount);
+		}
+	}
+
+	// Returns the number of obsolete files removed
+	private int openNextFile(LocalDateTime now) {
 		LocalDate today = now.toLocalDate();
 		nextCheckpoint = LocalDateTime.of(now.getYear(), now.getMonth(), now.getDayOfMonth(), 0, 0).plusDays(1);
 
@@ -104,9 +121,9 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 				continue;
 			}
 
-			applyRetentionPolicy(path);
-			break;
+			return applyRetentionPolicy(path);
 		}
+		return 0;
 	}
 
 	private void closeFile() {
@@ -121,9 +138,9 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 		}
 	}
 
-	private void applyRetentionPolicy(String currentFilePath) {
+	private int applyRetentionPolicy(String currentFilePath) {
 		if (retainedFileCountLimit == null) {
-			return;
+			return 0;
 		}
 
 		// Create a list of rolling log files
@@ -141,7 +158,7 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 
 		// Nothing to remove?
 		if (files.size() <= retainedFileCountLimit) {
-			return;
+			return 0;
 		}
 
 		// Remove first x files from "remove" list, since we want to keep those
@@ -149,24 +166,30 @@ public class RollingFileSink implements ILogEventSink, Closeable {
 			files.remove(0);
 		}
 
+		int deleted = 0;
 		for (RollingLogFile file : files) {
 			try {
 				if (!new File(roller.getLogFileDirectory(), file.getFilename()).delete()) {
 					throw new IOException("delete returned false");
 				}
+				deleted++;
 			} catch (IOException e) {
 				SelfLog.writeLine("Error %s while removing obsolete file %s", e.getMessage(), file.getFilename());
 			}
 		}
+		return deleted;
 	}
 
 	@Override
 	public void close() throws IOException {
-		synchronized (syncLock) {
+		syncLock.lock();
+		try {
 			if (!isDisposed) {
 				closeFile();
 				isDisposed = true;
 			}
+		} finally {
+			syncLock.unlock();
 		}
 	}
 
@@ -6,6 +6,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
@@ -19,6 +20,7 @@ import java.util.Collections;
 
 import serilogj.core.LoggingLevelSwitch;
 import serilogj.debugging.SelfLog;
+import serilogj.debugging.jfr.PipelineEvents;
 import serilogj.events.LogEvent;
 import serilogj.events.LogEventLevel;
 import serilogj.formatting.ITextFormatter;
@@ -37,6 +39,9 @@ public class SeqSink extends PeriodicBatchingSink {
 	private LoggingLevelSwitch levelSwitch;
 	private LocalDateTime nextRequiredLevelCheck = LocalDateTime.now().plus(RequiredLevelCheckInterval);
 	private final Map<String, String> httpHeaders;
+	// Kept for the life of the sink, so that stack trace references and the
+	// timestamp cache carry over from one batch to the next
+	private final ITextFormatter formatter = new JsonFormatter(false, "", false, null);
 
 	public SeqSink(String serverUrl, String apiKey, Integer batchSizeLimit, Duration period, Long eventBodyLimitBytes,
 				LoggingLevelSwitch levelSwitch) {
@@ -78,12 +83,21 @@ public class SeqSink extends PeriodicBatchingSink {
 
 	@Override
 	protected void emitBatch(Queue<LogEvent> events) {
+		try {
+			post(events);
+		} catch (IOException e) {
+			// PeriodicBatchingSink counts the batch as failed, keeps it and backs
+			// off before retrying
+			throw new UncheckedIOException("Error sending events to Seq: " + e.getMessage(), e);
+		}
+	}
+
+	private void post(Queue<LogEvent> events) throws IOException {
 		nextRequiredLevelCheck = LocalDateTime.now().plus(RequiredLevelCheckInterval);
 
 		StringWriter payload = new StringWriter();
 		payload.write("{\"Events\":[");
 
-		ITextFormatter formatter = new JsonFormatter(false, "", false, null);
 		String delimStart = "";
 		try {
 			for (LogEvent logEvent : events) {
@@ -113,19 +127,24 @@ public class SeqSink extends PeriodicBatchingSink {
 
 		payload.write("]}");
 
+		Object postEvent = PipelineEvents.beginSeqPost();
+		byte[] body = null;
+		int responseCode = 0;
+		boolean posted = false;
 		try {
 			HttpURLConnection con = (HttpURLConnection) baseUrl.openConnection();
 			con.setRequestMethod("POST");
 			httpHeaders.forEach(con::setRequestProperty);
 			con.setDoOutput(true);
 
+			body = payload.toString().getBytes("UTF8");
 			OutputStream os = con.getOutputStream();
-			os.write(payload.toString().getBytes("UTF8"));
+			os.write(body);
 			os.flush();
 			os.close();
 
 			InputStream stream;
-			int responseCode = con.getResponseCode();
+			responseCode = con.getResponseCode();
 			if (responseCode < 200 || responseCode >= 300) {
 				stream = con.getErrorStream();
 			} else {
@@ -148,15 +167,23 @@ public class SeqSink extends PeriodicBatchingSink {
 			if (level != null && levelSwitch == null) {
 				levelSwitch = new LoggingLevelSwitch(level);
 			}
-		} catch (IOException e) {
-			SelfLog.writeLine("Error sending events to Seq, exception %s", e.getMessage());
+			posted = true;
+		} finally {
+			PipelineEvents.endSeqPost(postEvent, baseUrl.toString(), events.size(), body == null ? 0 : body.length,
+					responseCode, posted);
 		}
 	}
 
 	@Override
 	protected void onEmptyBatch() {
 		if (levelSwitch != null && nextRequiredLevelCheck.isBefore(LocalDateTime.now())) {
-			emitBatch(new LinkedList<LogEvent>());
+			// Only checks the minimum level, so a failure loses nothing and
+			// isn't counted against the connection like a failed batch
+			try {
+				post(new LinkedList<LogEvent>());
+			} catch (IOException e) {
+				SelfLog.writeLine("Error checking the Seq minimum level, exception %s", e.getMessage());
+			}
 		}
 	}
 }